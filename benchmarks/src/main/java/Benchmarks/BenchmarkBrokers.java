@@ -0,0 +1,37 @@
+package Benchmarks;
+
+import RoundRobin.RoundRobinDatacenterBroker;
+import ShortestJobFirst.ShortestJobFirstDatacenterBroker;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.List;
+
+/**
+ * Brokers exposing the protected state their hot paths read, so the paths can be timed on their own
+ */
+final class BenchmarkBrokers {
+
+    private BenchmarkBrokers() {
+    }
+
+    static class ShortestJobFirst extends ShortestJobFirstDatacenterBroker {
+        ShortestJobFirst(String name) throws Exception {
+            super(name);
+        }
+
+        void setCreatedVms(List<Vm> vms) {
+            setVmsCreatedList(vms);
+        }
+    }
+
+    static class RoundRobin extends RoundRobinDatacenterBroker {
+        RoundRobin(String name) throws Exception {
+            super(name);
+        }
+
+        void distribute(List<Integer> datacenterIds) {
+            setDatacenterIdsList(datacenterIds);
+            distributeRequestsForNewVmsAcrossDatacentersUsingTheRoundRobinApproach();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package Benchmarks;
+
+import Topology.TopologyBuilder;
+import org.cloudbus.cloudsim.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The VMs, cloudlets and datacenters of LoadBalancer, sized by the benchmark parameters
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<Vm> createVms(int userId, int numberOfVm) {
+        List<Vm> list = new ArrayList<>(numberOfVm);
+        for (int i = 0; i < numberOfVm; i++) {
+            list.add(new Vm(i, userId, 1000 + (i * 10), 1, 512, 1000, 10000, "Xen", new CloudletSchedulerSpaceShared()));
+        }
+        return list;
+    }
+
+    static List<Cloudlet> createCloudlets(int userId, int numberOfCloudlet) {
+        UtilizationModel utilizationModel = new UtilizationModelFull();
+        List<Cloudlet> list = new ArrayList<>(numberOfCloudlet);
+        for (int i = 0; i < numberOfCloudlet; i++) {
+            Cloudlet cloudlet = new Cloudlet(i, 1000 + 2L * i * 10, 1, 300, 300, utilizationModel, utilizationModel, utilizationModel);
+            cloudlet.setUserId(userId);
+            list.add(cloudlet);
+        }
+        return list;
+    }
+
+    /**
+     * @return ids of the created datacenters, those of LoadBalancer
+     */
+    static List<Integer> createDatacenters(int numberOfDatacenters) {
+        List<Integer> ids = new ArrayList<>(numberOfDatacenters);
+        for (Datacenter datacenter : new TopologyBuilder().createDatacenters(numberOfDatacenters)) {
+            ids.add(datacenter.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,94 @@
+package Benchmarks;
+
+import GeneticAlgorithm.GeneticAlgorithmConfig;
+import GeneticAlgorithm.GeneticAlgorithmDatacenterBroker;
+import Priority.PriorityDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one scheduling decision of every broker: the time each broker
+ * spends ordering and binding a batch of cloudlets, without running the simulation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulingBenchmark {
+
+    @Param({"1000", "10000"})
+    int cloudlets;
+
+    @Param({"10", "100"})
+    int vms;
+
+    @Param({"1", "4"})
+    int datacenters;
+
+    private List<Integer> datacenterIds;
+    private BenchmarkBrokers.ShortestJobFirst shortestJobFirst;
+    private BenchmarkBrokers.RoundRobin roundRobin;
+    private PriorityDatacenterBroker priority;
+    private GeneticAlgorithmDatacenterBroker geneticAlgorithm;
+    private List<Cloudlet> priorityCloudlets;
+    private List<Cloudlet> geneticAlgorithmCloudlets;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws Exception {
+        Log.disable();
+        CloudSim.init(1, Calendar.getInstance(), false);
+        datacenterIds = Fixtures.createDatacenters(datacenters);
+
+        shortestJobFirst = new BenchmarkBrokers.ShortestJobFirst("ShortestJobFirst");
+        List<Vm> vmList = Fixtures.createVms(shortestJobFirst.getId(), vms);
+        shortestJobFirst.submitVmList(vmList);
+        shortestJobFirst.setCreatedVms(vmList);
+        shortestJobFirst.submitCloudletList(Fixtures.createCloudlets(shortestJobFirst.getId(), cloudlets));
+
+        roundRobin = new BenchmarkBrokers.RoundRobin("RoundRobin");
+        roundRobin.submitVmList(Fixtures.createVms(roundRobin.getId(), vms));
+
+        priority = new PriorityDatacenterBroker("Priority", 42L);
+        priority.submitVmList(Fixtures.createVms(priority.getId(), vms));
+        priorityCloudlets = Fixtures.createCloudlets(priority.getId(), cloudlets);
+
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        config.setSeed(42L);
+        geneticAlgorithm = new GeneticAlgorithmDatacenterBroker("GeneticAlgorithm", config);
+        geneticAlgorithm.submitVmList(Fixtures.createVms(geneticAlgorithm.getId(), vms));
+        geneticAlgorithmCloudlets = Fixtures.createCloudlets(geneticAlgorithm.getId(), cloudlets);
+    }
+
+    @Benchmark
+    public List<Cloudlet> shortestJobFirstScheduleTasksToVms() {
+        shortestJobFirst.scheduleTaskstoVms();
+        return shortestJobFirst.getCloudletList();
+    }
+
+    @Benchmark
+    public List<Cloudlet> priorityRunPriority() {
+        priority.submitCloudletList(priorityCloudlets);
+        return priority.getCloudletList();
+    }
+
+    @Benchmark
+    public List<Cloudlet> geneticAlgorithmRunGeneticAlgorithm() {
+        geneticAlgorithm.submitCloudletList(geneticAlgorithmCloudlets);
+        return geneticAlgorithm.getCloudletList();
+    }
+
+    @Benchmark
+    public BenchmarkBrokers.RoundRobin roundRobinDistributeVms() {
+        roundRobin.distribute(datacenterIds);
+        return roundRobin;
+    }
+}
@@ -0,0 +1,55 @@
+package Benchmarks;
+
+import Simulation.BrokerType;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end time of a whole simulation, from CloudSim.startSimulation until
+ * every cloudlet has returned to the broker
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"ROUND_ROBIN", "SHORTEST_JOB_FIRST", "PRIORITY", "FIRST_COME_FIRST_SERVE", "GENETIC_ALGORITHM"})
+    BrokerType broker;
+
+    @Param({"1000", "10000"})
+    int cloudlets;
+
+    @Param({"10", "100"})
+    int vms;
+
+    @Param({"1", "4"})
+    int datacenters;
+
+    private DatacenterBroker datacenterBroker;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        Log.disable();
+        CloudSim.init(1, Calendar.getInstance(), false);
+        Fixtures.createDatacenters(datacenters);
+
+        datacenterBroker = broker.create(broker.getBrokerName(), 42L);
+        datacenterBroker.submitVmList(Fixtures.createVms(datacenterBroker.getId(), vms));
+        datacenterBroker.submitCloudletList(Fixtures.createCloudlets(datacenterBroker.getId(), cloudlets));
+    }
+
+    @Benchmark
+    public int startSimulation() {
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+        return datacenterBroker.getCloudletReceivedList().size();
+    }
+}
@@ -0,0 +1,88 @@
+package ActiveMonitoring;
+
+import Online.IndexedMinHeap;
+import Online.OnlineDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
+
+import java.util.ArrayList;
+
+/**
+ * A Broker that monitors the cloudlets active on every VM, sent and not
+ * returned yet, and sends each cloudlet to the VM with the fewest of them,
+ * the VM with the smaller index winning ties. Unlike Least Loaded it counts
+ * allocations, not the work behind them.
+ * <p>
+ * The VMs are kept in an indexed min-heap ordered by active cloudlets, updated
+ * when a cloudlet is sent or returns, so each cloudlet costs O(log V).
+ */
+public class ActiveMonitoringDatacenterBroker extends OnlineDatacenterBroker {
+
+    private int[] active;       // cloudlets sent to each VM and not returned yet
+    private IndexedMinHeap leastActive;
+
+    public ActiveMonitoringDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    @Override
+    protected void onVmsReady() {
+        int numberOfVms = getOnlineVms().size();
+        active = new int[numberOfVms];
+        leastActive = new IndexedMinHeap(numberOfVms);
+
+        for (int v = 0; v < numberOfVms; v++) {
+            leastActive.set(v, 0);
+        }
+    }
+
+    /**
+     * @return cloudlets sent to the VM and not returned yet
+     */
+    public int getActiveCloudlets(int v) {
+        return active[v];
+    }
+
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        return leastActive.peek();
+    }
+
+    @Override
+    protected void sendToVm(Cloudlet cloudlet, int v) {
+        super.sendToVm(cloudlet, v);
+        setActive(v, active[v] + 1);
+    }
+
+    @Override
+    protected void onCloudletReturned(Cloudlet cloudlet, int v) {
+        setActive(v, active[v] - 1);
+    }
+
+    @Override
+    protected void onCloudletStolen(Cloudlet cloudlet, int from, int to) {
+        setActive(from, active[from] - 1);
+        setActive(to, active[to] + 1);
+    }
+
+    /**
+     * Binds the batch in submission order, each cloudlet on the VM with the fewest active cloudlets at that point
+     */
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (getOnlineVms().isEmpty()) {
+            return;
+        }
+
+        for (Cloudlet cloudlet : new ArrayList<Cloudlet>(getCloudletList())) {
+            sendToVm(cloudlet, selectVm(cloudlet));
+        }
+
+        getCloudletList().clear();
+    }
+
+    private void setActive(int v, int count) {
+        active[v] = Math.max(0, count);
+        leastActive.set(v, active[v]);
+    }
+}
@@ -0,0 +1,114 @@
+package AntColony;
+
+/**
+ * Tunable parameters of the ant colony optimization. By default 20 ants per
+ * iteration search until the best makespan stops improving for 30 iterations.
+ */
+public class AntColonyConfig {
+    private int ants = 20;                   // tours built per iteration, each on its own thread
+    private int iterations = 200;            // upper bound, the search usually converges earlier
+    private int stallIterations = 30;        // stop after this many iterations without improvement, 0 to disable
+    private double alpha = 1;                // weight of the pheromone
+    private double beta = 2;                 // weight of the heuristic, 1 / expected completion time
+    private double evaporation = 0.1;        // share of the pheromone lost every iteration
+    private double exploitation = 0.9;       // chance of taking the most attractive VM outright instead of drawing one
+    private int rankedAnts = 6;              // best ants of an iteration that deposit pheromone, the best tour so far included
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long timeBudgetMillis = 0;       // 0 means no wall-clock limit
+    private Long seed = null;                // null means a different search on every run
+
+    public int getAnts() {
+        return ants;
+    }
+
+    public void setAnts(int ants) {
+        this.ants = ants;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getStallIterations() {
+        return stallIterations;
+    }
+
+    public void setStallIterations(int stallIterations) {
+        this.stallIterations = stallIterations;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(double alpha) {
+        this.alpha = alpha;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public void setBeta(double beta) {
+        this.beta = beta;
+    }
+
+    public double getEvaporation() {
+        return evaporation;
+    }
+
+    /**
+     * @param evaporation  share of the pheromone lost every iteration, in (0, 1]
+     */
+    public void setEvaporation(double evaporation) {
+        this.evaporation = evaporation;
+    }
+
+    public double getExploitation() {
+        return exploitation;
+    }
+
+    /**
+     * @param exploitation  chance, in [0, 1), that an ant takes the most attractive VM outright rather than drawing
+     *                      one in proportion to the attractiveness; 0 makes every choice a draw
+     */
+    public void setExploitation(double exploitation) {
+        this.exploitation = exploitation;
+    }
+
+    public int getRankedAnts() {
+        return rankedAnts;
+    }
+
+    public void setRankedAnts(int rankedAnts) {
+        this.rankedAnts = rankedAnts;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,41 @@
+package AntColony;
+
+import GeneticAlgorithm.ScheduleSearchDatacenterBroker;
+import GeneticAlgorithm.SchedulingProblem;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A Broker that binds the batch with an ant colony optimization, see
+ * {@link AntColonyEngine}. Like the Genetic Algorithm broker it searches the
+ * whole schedule when the cloudlets are submitted, and queues them shortest
+ * first on the VMs they are bound to.
+ */
+public class AntColonyDatacenterBroker extends ScheduleSearchDatacenterBroker {
+
+    private AntColonyConfig config = new AntColonyConfig();
+
+    public AntColonyDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    public AntColonyDatacenterBroker(String name, AntColonyConfig config) throws Exception {
+        super(name);
+        this.config = config;
+    }
+
+    public AntColonyConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(AntColonyConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    protected IntUnaryOperator search(SchedulingProblem problem) {
+        int[] best = new AntColonyEngine(problem, config).run();
+        return i -> best[i];
+    }
+
+}
@@ -0,0 +1,263 @@
+package AntColony;
+
+import GeneticAlgorithm.SchedulingProblem;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Searches a schedule for a {@link SchedulingProblem} with a rank-based ant
+ * system. Every iteration the ants build their tours in parallel, each one
+ * binding the cloudlets longest first. For every cloudlet an ant mostly takes
+ * the VM with the highest pheromone^alpha * (1 / expected completion time)^beta,
+ * and otherwise draws a VM with a probability proportional to it.
+ * The pheromone then evaporates and the best ants deposit on the bindings
+ * of their tours, bounded as in the MAX-MIN ant system so the search never
+ * stops exploring.
+ * <p>
+ * The pheromone is a flat n x m array, row i holding cloudlet i. Ants only
+ * read it while building their tours; the update runs after all of them,
+ * one row per task, so every row has a single writer and no locks are needed.
+ */
+public class AntColonyEngine {
+    private final SchedulingProblem problem;
+    private final AntColonyConfig config;
+
+    private final int numCloudlets;
+    private final int numVms;
+    private final int[] order;                  // cloudlets in the order the ants bind them, longest first
+    private final double[] work;
+    private final double[] inverseCapacity;
+    private final double[] pheromone;
+    private final double[] attractiveness;      // pheromone^alpha, refreshed after every update
+
+    public AntColonyEngine(SchedulingProblem problem, AntColonyConfig config) {
+        this.problem = problem;
+        this.config = config;
+        this.numCloudlets = problem.getNumCloudlets();
+        this.numVms = problem.getNumVms();
+
+        int[] byLength = problem.getCloudletsByLength();
+        this.order = new int[numCloudlets];
+        for (int i = 0; i < numCloudlets; i++) {
+            order[i] = byLength[numCloudlets - 1 - i];
+        }
+
+        this.work = new double[numCloudlets];
+        for (int i = 0; i < numCloudlets; i++) {
+            work[i] = problem.getCloudletWork(i);
+        }
+        this.inverseCapacity = new double[numVms];
+        for (int k = 0; k < numVms; k++) {
+            inverseCapacity[k] = 1 / problem.getVmCapacity(k);
+        }
+
+        int size;
+        try {
+            size = Math.multiplyExact(numCloudlets, numVms);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("A pheromone trail over " + numCloudlets + " cloudlets and " + numVms
+                    + " VMs has more entries than an array can hold");
+        }
+        this.pheromone = new double[size];
+        this.attractiveness = new double[size];
+    }
+
+    /**
+     * A schedule built by an ant
+     */
+    private static final class Tour {
+        final int[] vms;         // VM index of every cloudlet
+        final double makespan;
+
+        Tour(int[] vms, double makespan) {
+            this.vms = vms;
+            this.makespan = makespan;
+        }
+    }
+
+    /**
+     * @return VM index (k-th fastest VM of the problem) chosen for every cloudlet by the best tour found
+     */
+    public int[] run() {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getThreads()));
+        try {
+            return pool.submit(this::search).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ant colony optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ant colony optimization failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int[] search() {
+        long deadline = config.getTimeBudgetMillis() > 0
+                ? System.currentTimeMillis() + config.getTimeBudgetMillis()
+                : Long.MAX_VALUE;
+        Random random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+
+        // the greedy tour sets the scale of the pheromone
+        Tour best = buildTour(null);
+        Arrays.fill(pheromone, getMaxPheromone(best));
+        for (int i = 0; i < numCloudlets; i++) {
+            refreshAttractiveness(i * numVms);
+        }
+
+        int stalled = 0;
+        for (int iteration = 1; iteration <= config.getIterations(); iteration++) {
+            if (System.currentTimeMillis() >= deadline
+                    || (config.getStallIterations() > 0 && stalled >= config.getStallIterations())) {
+                break;
+            }
+
+            long[] seeds = new long[Math.max(1, config.getAnts())];
+            for (int a = 0; a < seeds.length; a++) {
+                seeds[a] = random.nextLong();
+            }
+            Tour[] tours = IntStream.range(0, seeds.length).parallel()
+                    .mapToObj(a -> buildTour(new SplittableRandom(seeds[a])))
+                    .sorted(Comparator.comparingDouble(tour -> tour.makespan))
+                    .toArray(Tour[]::new);
+
+            if (tours[0].makespan < best.makespan) {
+                best = tours[0];
+                stalled = 0;
+            } else {
+                stalled++;
+            }
+
+            updatePheromone(tours, best);
+        }
+
+        return best.vms;
+    }
+
+    /**
+     * Binds every cloudlet, longest first, to a VM drawn by pheromone and expected completion time
+     * @param random  null for the greedy tour, which takes the earliest completion every time
+     */
+    private Tour buildTour(SplittableRandom random) {
+        int[] vms = new int[numCloudlets];
+        double[] ready = new double[numVms];
+        double[] weights = new double[numVms];
+        double beta = config.getBeta();
+        double exploitation = config.getExploitation();
+
+        for (int i : order) {
+            int row = i * numVms;
+            int chosen = 0;
+
+            if (random == null) {
+                double earliest = Double.MAX_VALUE;
+                for (int k = 0; k < numVms; k++) {
+                    double completion = ready[k] + work[i] * inverseCapacity[k];
+                    if (completion < earliest) {
+                        earliest = completion;
+                        chosen = k;
+                    }
+                }
+            } else {
+                double total = 0;
+                double highest = -1;
+                for (int k = 0; k < numVms; k++) {
+                    double completion = ready[k] + work[i] * inverseCapacity[k];
+                    double weight = attractiveness[row + k] * heuristic(completion, beta);
+                    weights[k] = weight;
+                    total += weight;
+                    if (weight > highest) {
+                        highest = weight;
+                        chosen = k;
+                    }
+                }
+
+                if (random.nextDouble() >= exploitation) {
+                    double draw = random.nextDouble() * total;
+                    chosen = numVms - 1;
+                    for (int k = 0; k < numVms; k++) {
+                        draw -= weights[k];
+                        if (draw < 0) {
+                            chosen = k;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            vms[i] = chosen;
+            ready[chosen] += work[i] * inverseCapacity[chosen];
+        }
+
+        double makespan = 0;
+        for (double time : ready) {
+            makespan = Math.max(makespan, time);
+        }
+        return new Tour(vms, makespan);
+    }
+
+    private static double heuristic(double completion, double beta) {
+        if (beta == 1) {
+            return 1 / completion;
+        }
+        if (beta == 2) {
+            return 1 / (completion * completion);
+        }
+        return Math.pow(completion, -beta);
+    }
+
+    /**
+     * Evaporates every binding and lets the ranked ants and the best tour so far deposit on theirs,
+     * the w-th best ant depositing w times less than the best tour
+     */
+    private void updatePheromone(Tour[] tours, Tour best) {
+        double persistence = 1 - config.getEvaporation();
+        double max = getMaxPheromone(best);
+        double min = max / (2 * numVms);
+        int ranked = Math.max(1, config.getRankedAnts());
+        int depositing = Math.min(ranked - 1, tours.length);
+
+        IntStream.range(0, numCloudlets).parallel().forEach(i -> {
+            int row = i * numVms;
+            for (int k = row; k < row + numVms; k++) {
+                pheromone[k] *= persistence;
+            }
+            for (int r = 0; r < depositing; r++) {
+                pheromone[row + tours[r].vms[i]] += (ranked - 1 - r) / tours[r].makespan;
+            }
+            pheromone[row + best.vms[i]] += ranked / best.makespan;
+
+            for (int k = row; k < row + numVms; k++) {
+                pheromone[k] = Math.max(min, Math.min(max, pheromone[k]));
+            }
+            refreshAttractiveness(row);
+        });
+    }
+
+    /**
+     * Raises the pheromone of the row to alpha once, rather than in every ant
+     */
+    private void refreshAttractiveness(int row) {
+        double alpha = config.getAlpha();
+        if (alpha == 1) {
+            System.arraycopy(pheromone, row, attractiveness, row, numVms);
+        } else {
+            for (int k = row; k < row + numVms; k++) {
+                attractiveness[k] = Math.pow(pheromone[k], alpha);
+            }
+        }
+    }
+
+    /**
+     * @return the upper bound of the pheromone, what a binding converges to when the best tour keeps depositing on it
+     */
+    private double getMaxPheromone(Tour best) {
+        return Math.max(1, config.getRankedAnts()) / (config.getEvaporation() * best.makespan);
+    }
+}
@@ -1,7 +1,7 @@
 package FirstComeFirstServe;
 
+import Online.OnlineDatacenterBroker;
 import org.cloudbus.cloudsim.Cloudlet;
-import org.cloudbus.cloudsim.DatacenterBroker;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.SimEvent;
@@ -10,9 +10,10 @@ import java.util.ArrayList;
 
 /**
  * A Broker that schedules Tasks to the VMs
- * as per FCFS Scheduling Policy
+ * as per FCFS Scheduling Policy. Online, arriving tasks wait in a single
+ * queue and each one goes to the first VM that frees up, in arrival order.
  */
-public class FCFSDatacenterBroker extends DatacenterBroker {
+public class FCFSDatacenterBroker extends OnlineDatacenterBroker {
 
     public FCFSDatacenterBroker(String name) throws Exception {
         super(name);
@@ -32,6 +33,11 @@ public class FCFSDatacenterBroker extends DatacenterBroker {
 
     @Override
     protected void processCloudletReturn(SimEvent ev) {
+        if (isOnline()) {
+            super.processCloudletReturn(ev);
+            return;
+        }
+
         Cloudlet cloudlet = (Cloudlet) ev.getData();
         getCloudletReceivedList().add(cloudlet);
         Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloudlet " + cloudlet.getCloudletId()
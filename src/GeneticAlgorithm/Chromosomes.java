@@ -1,34 +1,103 @@
 package GeneticAlgorithm;
 
-import GeneticAlgorithm.Gene;
-import org.cloudbus.cloudsim.Vm;
-
-import java.util.ArrayList;
-
-/*
- * To change this license header, choose License Headers in Project Properties.
- * To change this template file, choose Tools | Templates
- * and open the template in the editor.
- */
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
 
 /**
- *
- * @author hp
+ * A candidate schedule: gene i holds the index, in the {@link SchedulingProblem},
+ * of the VM cloudlet i is bound to. Genes are packed into a short buffer when
+ * every VM index fits in a short and into an int buffer otherwise, either on
+ * the heap or in direct (off-heap) memory. Once its {@link ScheduleLoad} has
+ * been computed, it is kept up to date gene by gene.
  */
 public class Chromosomes {
-    protected ArrayList<Gene> geneList;
-	
-	public Chromosomes(ArrayList<Gene> geneList){
-		this.geneList=geneList;		
-	}
-	
-	public ArrayList<Gene> getGeneList(){
-		return this.geneList;
-	}
-	
-	public void updateGene(int index,Vm vm){
-		Gene gene=this.geneList.get(index);
-		gene.setVmForGene(vm);
-		this.geneList.set(index, gene);
-	}
+    private final ShortBuffer shortGenes;
+    private final IntBuffer intGenes;
+    private final int size;
+    private ScheduleLoad load;
+
+    private Chromosomes(ShortBuffer shortGenes, IntBuffer intGenes, int size) {
+        this.shortGenes = shortGenes;
+        this.intGenes = intGenes;
+        this.size = size;
+    }
+
+    /**
+     * @param numGenes  number of cloudlets scheduled by the chromosome
+     * @param numVms    number of VMs a gene can point to
+     * @param offHeap   whether the genes are stored outside of the Java heap
+     */
+    public static Chromosomes allocate(int numGenes, int numVms, boolean offHeap) {
+        if (numVms <= Short.MAX_VALUE + 1) {
+            return new Chromosomes(allocateShorts(numGenes, offHeap), null, numGenes);
+        }
+        return new Chromosomes(null, allocateInts(numGenes, offHeap), numGenes);
+    }
+
+    private static ShortBuffer allocateShorts(int numGenes, boolean offHeap) {
+        return offHeap
+                ? ByteBuffer.allocateDirect(numGenes * Short.BYTES).order(ByteOrder.nativeOrder()).asShortBuffer()
+                : ShortBuffer.wrap(new short[numGenes]);
+    }
+
+    private static IntBuffer allocateInts(int numGenes, boolean offHeap) {
+        return offHeap
+                ? ByteBuffer.allocateDirect(numGenes * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+                : IntBuffer.wrap(new int[numGenes]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isOffHeap() {
+        return shortGenes != null ? shortGenes.isDirect() : intGenes.isDirect();
+    }
+
+    public int getVmIndex(int index) {
+        return shortGenes != null ? shortGenes.get(index) : intGenes.get(index);
+    }
+
+    public void updateGene(int index, int vmIndex) {
+        if (load != null) {
+            load.move(index, getVmIndex(index), vmIndex);
+        }
+        if (shortGenes != null) {
+            shortGenes.put(index, (short) vmIndex);
+        } else {
+            intGenes.put(index, vmIndex);
+        }
+    }
+
+    /**
+     * @return the VM loads of this schedule, computed on first use and then maintained incrementally
+     */
+    public ScheduleLoad getLoad(SchedulingProblem problem) {
+        if (load == null) {
+            load = new ScheduleLoad(problem, this);
+        }
+        return load;
+    }
+
+    /**
+     * @return a chromosome with the same genes that does not share storage with this one
+     */
+    public Chromosomes copy() {
+        Chromosomes copy;
+        if (shortGenes != null) {
+            ShortBuffer genes = allocateShorts(size, shortGenes.isDirect());
+            genes.put(shortGenes.duplicate()).clear();
+            copy = new Chromosomes(genes, null, size);
+        } else {
+            IntBuffer genes = allocateInts(size, intGenes.isDirect());
+            genes.put(intGenes.duplicate()).clear();
+            copy = new Chromosomes(null, genes, size);
+        }
+        if (load != null) {
+            copy.load = load.copy();
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,15 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Recombines two parents into two offspring. Parents are never modified: the
+ * offspring are copies that only differ from them where genes were exchanged.
+ */
+public interface Crossover {
+
+    /**
+     * @return the two offspring
+     */
+    Chromosomes[] cross(Chromosomes parent1, Chromosomes parent2, Random random);
+}
@@ -0,0 +1,53 @@
+package GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Weighted sum of scheduling objectives, lower is fitter. The default
+ * function minimises the makespan only.
+ */
+public class FitnessFunction {
+
+    /**
+     * A quantity of a schedule to minimise
+     */
+    @FunctionalInterface
+    public interface Objective {
+        Objective TOTAL_EXECUTION_TIME = ScheduleLoad::getTotalExecutionTime;
+        Objective MAKESPAN = ScheduleLoad::getMakespan;
+        Objective IMBALANCE_DEGREE = ScheduleLoad::getImbalanceDegree;
+        Objective COST = ScheduleLoad::getTotalCost;
+
+        double evaluate(ScheduleLoad load);
+    }
+
+    private final List<Objective> objectives = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+
+    /**
+     * @return a function minimising the makespan
+     */
+    public static FitnessFunction makespan() {
+        return new FitnessFunction().with(Objective.MAKESPAN, 1.0);
+    }
+
+    /**
+     * Adds an objective to the weighted sum
+     * @return this function
+     */
+    public FitnessFunction with(Objective objective, double weight) {
+        objectives.add(objective);
+        weights.add(weight);
+        return this;
+    }
+
+    public double evaluate(SchedulingProblem problem, Chromosomes chromosome) {
+        ScheduleLoad load = chromosome.getLoad(problem);
+        double score = 0;
+        for (int i = 0; i < objectives.size(); i++) {
+            score += weights.get(i) * objectives.get(i).evaluate(load);
+        }
+        return score;
+    }
+}
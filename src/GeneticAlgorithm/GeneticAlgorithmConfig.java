@@ -0,0 +1,233 @@
+package GeneticAlgorithm;
+
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Tunable parameters of the genetic algorithm. By default 100 chromosomes
+ * evolve as four islands of 25, exchanging their best chromosome every 5
+ * generations, until the best makespan stops improving for 25 generations.
+ * The number of islands is fixed rather than taken from the cores, so a
+ * seeded search finds the same schedule on every machine.
+ */
+public class GeneticAlgorithmConfig {
+    private int generations = 500;           // upper bound, the search usually converges earlier
+    private int stallGenerations = 25;       // stop after this many generations without improvement, 0 to disable
+    private double convergenceTolerance = 1e-6;  // relative improvement below which a generation counts as stalled
+    private double targetFitness = 0;        // stop as soon as the best fitness reaches this value, 0 to disable
+    private int populationSize = 100;        // 0 means one chromosome per cloudlet
+    private int elitism = 1;                 // best chromosomes of an island kept unchanged each generation
+    private int islands = 4;                 // sub-populations evolved on separate cores, 1 to disable migration
+    private int migrationInterval = 5;       // generations between two migrations between islands
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double crossoverRate = 0.9;
+    private double mutationRate = 0.2;
+    private Selection selection = new TournamentSelection(3);
+    private Crossover crossover = new UniformCrossover();
+    private Mutation mutation = new SwapMutation();
+    private List<SeedHeuristic> seedHeuristics = Arrays.asList(SeedHeuristic.values());
+    private double seededFraction = 0.5;     // share of the initial population derived from the heuristics
+    private long timeBudgetMillis = 0;       // 0 means no wall-clock limit
+    private Long seed = null;                // null means a different search on every run
+    private boolean offHeap = false;
+    private boolean parallelPreprocessing = true;  // sort cloudlets and VMs on the common fork-join pool
+    private FitnessFunction fitnessFunction = FitnessFunction.makespan();
+    private ToDoubleFunction<Vm> vmCost = null;   // cost per second of a VM, only needed by the COST objective
+
+    public int getGenerations() {
+        return generations;
+    }
+
+    public void setGenerations(int generations) {
+        this.generations = generations;
+    }
+
+    public int getStallGenerations() {
+        return stallGenerations;
+    }
+
+    public void setStallGenerations(int stallGenerations) {
+        this.stallGenerations = stallGenerations;
+    }
+
+    public double getConvergenceTolerance() {
+        return convergenceTolerance;
+    }
+
+    public void setConvergenceTolerance(double convergenceTolerance) {
+        this.convergenceTolerance = convergenceTolerance;
+    }
+
+    public double getTargetFitness() {
+        return targetFitness;
+    }
+
+    public void setTargetFitness(double targetFitness) {
+        this.targetFitness = targetFitness;
+    }
+
+    /**
+     * @param numCloudlets  number of cloudlets scheduled
+     * @return the population size to use for this number of cloudlets
+     */
+    public int getPopulationSize(int numCloudlets) {
+        return populationSize > 0 ? populationSize : numCloudlets;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public void setPopulationSize(int populationSize) {
+        this.populationSize = populationSize;
+    }
+
+    public int getElitism() {
+        return elitism;
+    }
+
+    public void setElitism(int elitism) {
+        this.elitism = elitism;
+    }
+
+    public int getIslands() {
+        return islands;
+    }
+
+    public void setIslands(int islands) {
+        this.islands = islands;
+    }
+
+    public int getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(int migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public double getCrossoverRate() {
+        return crossoverRate;
+    }
+
+    public void setCrossoverRate(double crossoverRate) {
+        this.crossoverRate = crossoverRate;
+    }
+
+    public double getMutationRate() {
+        return mutationRate;
+    }
+
+    public void setMutationRate(double mutationRate) {
+        this.mutationRate = mutationRate;
+    }
+
+    public Selection getSelection() {
+        return selection;
+    }
+
+    public void setSelection(Selection selection) {
+        this.selection = selection;
+    }
+
+    public Crossover getCrossover() {
+        return crossover;
+    }
+
+    public void setCrossover(Crossover crossover) {
+        this.crossover = crossover;
+    }
+
+    public Mutation getMutation() {
+        return mutation;
+    }
+
+    public void setMutation(Mutation mutation) {
+        this.mutation = mutation;
+    }
+
+    public List<SeedHeuristic> getSeedHeuristics() {
+        return seedHeuristics;
+    }
+
+    /**
+     * @param seedHeuristics  heuristics whose schedules are injected into the initial population, may be empty
+     */
+    public void setSeedHeuristics(List<SeedHeuristic> seedHeuristics) {
+        this.seedHeuristics = seedHeuristics;
+    }
+
+    public double getSeededFraction() {
+        return seededFraction;
+    }
+
+    /**
+     * @param seededFraction  share of the initial population made of heuristic schedules and their
+     *                        mutated copies, the rest is random
+     */
+    public void setSeededFraction(double seededFraction) {
+        this.seededFraction = seededFraction;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * @param offHeap  whether chromosomes are stored in direct memory instead of the Java heap
+     */
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public FitnessFunction getFitnessFunction() {
+        return fitnessFunction;
+    }
+
+    public void setFitnessFunction(FitnessFunction fitnessFunction) {
+        this.fitnessFunction = fitnessFunction;
+    }
+
+    public ToDoubleFunction<Vm> getVmCost() {
+        return vmCost;
+    }
+
+    public void setVmCost(ToDoubleFunction<Vm> vmCost) {
+        this.vmCost = vmCost;
+    }
+
+    public boolean isParallelPreprocessing() {
+        return parallelPreprocessing;
+    }
+
+    public void setParallelPreprocessing(boolean parallelPreprocessing) {
+        this.parallelPreprocessing = parallelPreprocessing;
+    }
+}
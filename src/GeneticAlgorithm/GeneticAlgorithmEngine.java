@@ -0,0 +1,114 @@
+package GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Evolves a population of schedules for a {@link SchedulingProblem}. The
+ * population is split into islands that evolve on separate cores and exchange
+ * their best chromosome in a ring every few generations. The search stops when
+ * the best fitness has stalled or reached its target, the generation limit is
+ * reached or the time budget is spent.
+ */
+public class GeneticAlgorithmEngine {
+    private final SchedulingProblem problem;
+    private final GeneticAlgorithmConfig config;
+
+    public GeneticAlgorithmEngine(SchedulingProblem problem, GeneticAlgorithmConfig config) {
+        this.problem = problem;
+        this.config = config;
+    }
+
+    /**
+     * @return the fittest chromosome found by the search
+     */
+    public Chromosomes run() {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getThreads()));
+        try {
+            return pool.submit(this::evolve).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Genetic algorithm interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Genetic algorithm failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Chromosomes evolve() {
+        long deadline = config.getTimeBudgetMillis() > 0
+                ? System.currentTimeMillis() + config.getTimeBudgetMillis()
+                : Long.MAX_VALUE;
+
+        Random random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+        List<Island> islands = createIslands(new PopulationSeeder(problem, config).seed(random), random);
+
+        Chromosomes fittest = null;
+        double fittestTime = Double.MAX_VALUE;
+        int stalled = 0;
+
+        for (int generation = 1; ; generation++) {
+            double previousTime = fittestTime;
+            for (Island island : islands) {
+                int best = island.fittestIndex();
+                if (island.getFitness(best) < fittestTime) {
+                    fittestTime = island.getFitness(best);
+                    fittest = island.get(best);
+                }
+            }
+
+            if (previousTime - fittestTime > config.getConvergenceTolerance() * Math.abs(fittestTime)) {
+                stalled = 0;
+            } else {
+                stalled++;
+            }
+
+            if (generation > config.getGenerations() || System.currentTimeMillis() >= deadline
+                    || fittestTime <= config.getTargetFitness()
+                    || (config.getStallGenerations() > 0 && stalled >= config.getStallGenerations())) {
+                break;
+            }
+
+            islands.parallelStream().forEach(Island::evolve);
+
+            if (islands.size() > 1 && generation % Math.max(1, config.getMigrationInterval()) == 0) {
+                migrate(islands);
+            }
+        }
+
+        return fittest;
+    }
+
+    private List<Island> createIslands(List<Chromosomes> population, Random seeds) {
+        int numIslands = Math.max(1, Math.min(config.getIslands(), population.size()));
+
+        List<Island> islands = new ArrayList<>(numIslands);
+        for (int island = 0; island < numIslands; island++) {
+            int from = population.size() * island / numIslands;
+            int to = population.size() * (island + 1) / numIslands;
+            islands.add(new Island(problem, config, new ArrayList<>(population.subList(from, to)),
+                    new Random(seeds.nextLong())));
+        }
+        return islands;
+    }
+
+    /**
+     * Sends a copy of the fittest chromosome of every island to the next island of the ring
+     */
+    private void migrate(List<Island> islands) {
+        List<Chromosomes> migrants = new ArrayList<>(islands.size());
+        double[] migrantFitness = new double[islands.size()];
+        for (int i = 0; i < islands.size(); i++) {
+            int best = islands.get(i).fittestIndex();
+            migrants.add(islands.get(i).get(best));
+            migrantFitness[i] = islands.get(i).getFitness(best);
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            islands.get((i + 1) % islands.size()).accept(migrants.get(i), migrantFitness[i]);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package GeneticAlgorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable O(n log n) merge sort of index arrays over primitive keys. Equal keys
+ * keep their original order, so the result is the same on every run, whether
+ * the halves are sorted sequentially or in parallel.
+ */
+public final class IndexSort {
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private IndexSort() {
+    }
+
+    /**
+     * @return the indices of the keys, smallest key first
+     */
+    public static int[] ascending(double[] keys, boolean parallel) {
+        return sort(keys, false, parallel);
+    }
+
+    /**
+     * @return the indices of the keys, largest key first
+     */
+    public static int[] descending(double[] keys, boolean parallel) {
+        return sort(keys, true, parallel);
+    }
+
+    private static int[] sort(double[] keys, boolean descending, boolean parallel) {
+        int[] indices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        int[] buffer = new int[keys.length];
+
+        MergeSort task = new MergeSort(keys, descending, indices, buffer, 0, keys.length, parallel);
+        if (parallel && keys.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(task);
+        } else {
+            task.compute();
+        }
+        return indices;
+    }
+
+    private static final class MergeSort extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] keys;
+        private final boolean descending;
+        private final int[] indices;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final boolean parallel;
+
+        MergeSort(double[] keys, boolean descending, int[] indices, int[] buffer, int from, int to, boolean parallel) {
+            this.keys = keys;
+            this.descending = descending;
+            this.indices = indices;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= INSERTION_THRESHOLD) {
+                insertionSort();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            MergeSort left = new MergeSort(keys, descending, indices, buffer, from, middle, parallel);
+            MergeSort right = new MergeSort(keys, descending, indices, buffer, middle, to, parallel);
+            if (parallel && to - from >= PARALLEL_THRESHOLD) {
+                invokeAll(left, right);
+            } else {
+                left.compute();
+                right.compute();
+            }
+
+            if (!before(indices[middle], indices[middle - 1])) {
+                return;    // halves already in order
+            }
+
+            System.arraycopy(indices, from, buffer, from, to - from);
+            int i = from;
+            int j = middle;
+            for (int k = from; k < to; k++) {
+                if (j >= to || (i < middle && !before(buffer[j], buffer[i]))) {
+                    indices[k] = buffer[i++];
+                } else {
+                    indices[k] = buffer[j++];
+                }
+            }
+        }
+
+        private void insertionSort() {
+            for (int i = from + 1; i < to; i++) {
+                int index = indices[i];
+                int j = i - 1;
+                while (j >= from && before(index, indices[j])) {
+                    indices[j + 1] = indices[j];
+                    j--;
+                }
+                indices[j + 1] = index;
+            }
+        }
+
+        /**
+         * @return whether index a strictly precedes index b
+         */
+        private boolean before(int a, int b) {
+            return descending ? keys[a] > keys[b] : keys[a] < keys[b];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Reverses the VM assignment of a random run of cloudlets
+ */
+public class InversionMutation implements Mutation {
+
+    @Override
+    public void mutate(Chromosomes chromosome, SchedulingProblem problem, Random random) {
+        int from = random.nextInt(chromosome.size());
+        int to = random.nextInt(chromosome.size());
+        if (from > to) {
+            int tmp = from;
+            from = to;
+            to = tmp;
+        }
+        for (; from < to; from++, to--) {
+            int vm = chromosome.getVmIndex(from);
+            chromosome.updateGene(from, chromosome.getVmIndex(to));
+            chromosome.updateGene(to, vm);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * A sub-population evolved independently of the other islands. Only its own
+ * thread touches its chromosomes while a generation runs.
+ */
+class Island {
+    private final SchedulingProblem problem;
+    private final GeneticAlgorithmConfig config;
+    private final Random random;
+    private List<Chromosomes> members;
+    private double[] fitness;
+
+    Island(SchedulingProblem problem, GeneticAlgorithmConfig config, List<Chromosomes> members, Random random) {
+        this.problem = problem;
+        this.config = config;
+        this.members = members;
+        this.random = random;
+        this.fitness = new double[members.size()];
+
+        boolean[] unscored = new boolean[members.size()];
+        Arrays.fill(unscored, true);
+        evaluate(members, fitness, unscored);
+    }
+
+    int size() {
+        return members.size();
+    }
+
+    Chromosomes get(int index) {
+        return members.get(index);
+    }
+
+    double getFitness(int index) {
+        return fitness[index];
+    }
+
+    /**
+     * Replaces the island with a new generation: the elites survive unchanged
+     * and the rest are offspring of selected parents. Offspring share their
+     * parent until crossover or mutation modifies them, so only modified
+     * offspring are copied and scored.
+     */
+    void evolve() {
+        int populationSize = members.size();
+        List<Chromosomes> offspring = new ArrayList<>(populationSize);
+        double[] offspringFitness = new double[populationSize];
+        boolean[] unscored = new boolean[populationSize];
+
+        for (int elite : fittestIndices(Math.min(config.getElitism(), populationSize))) {
+            offspringFitness[offspring.size()] = fitness[elite];
+            offspring.add(members.get(elite));
+        }
+
+        Selection selection = config.getSelection();
+        while (offspring.size() < populationSize) {
+            int parent1 = selection.select(fitness, random);
+            int parent2 = selection.select(fitness, random);
+
+            Chromosomes child1 = members.get(parent1);
+            Chromosomes child2 = members.get(parent2);
+            boolean modified = false;
+
+            if (random.nextDouble() < config.getCrossoverRate()) {
+                Chromosomes[] children = config.getCrossover().cross(child1, child2, random);
+                child1 = children[0];
+                child2 = children[1];
+                modified = true;
+            }
+
+            for (int c = 0; c < 2 && offspring.size() < populationSize; c++) {
+                Chromosomes child = c == 0 ? child1 : child2;
+                boolean changed = modified;
+                if (random.nextDouble() < config.getMutationRate()) {
+                    if (!changed) {
+                        child = child.copy();
+                        changed = true;
+                    }
+                    config.getMutation().mutate(child, problem, random);
+                }
+
+                int index = offspring.size();
+                unscored[index] = changed;
+                offspringFitness[index] = fitness[c == 0 ? parent1 : parent2];
+                offspring.add(child);
+            }
+        }
+
+        evaluate(offspring, offspringFitness, unscored);
+        members = offspring;
+        fitness = offspringFitness;
+    }
+
+    /**
+     * Scores the flagged chromosomes, in parallel over the pool of the caller
+     */
+    private void evaluate(List<Chromosomes> population, double[] scores, boolean[] unscored) {
+        FitnessFunction fitnessFunction = config.getFitnessFunction();
+        IntStream.range(0, population.size()).parallel()
+                .filter(i -> unscored[i])
+                .forEach(i -> scores[i] = fitnessFunction.evaluate(problem, population.get(i)));
+    }
+
+    int fittestIndex() {
+        int best = 0;
+        for (int i = 1; i < fitness.length; i++) {
+            if (fitness[i] < fitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    int weakestIndex() {
+        int worst = 0;
+        for (int i = 1; i < fitness.length; i++) {
+            if (fitness[i] > fitness[worst]) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Replaces the weakest chromosome of the island with a copy of a migrant
+     */
+    void accept(Chromosomes migrant, double migrantFitness) {
+        int worst = weakestIndex();
+        if (migrantFitness < fitness[worst]) {
+            members.set(worst, migrant.copy());
+            fitness[worst] = migrantFitness;
+        }
+    }
+
+    private int[] fittestIndices(int count) {
+        int[] indices = new int[count];
+        boolean[] taken = new boolean[fitness.length];
+        for (int e = 0; e < count; e++) {
+            int best = -1;
+            for (int i = 0; i < fitness.length; i++) {
+                if (!taken[i] && (best < 0 || fitness[i] < fitness[best])) {
+                    best = i;
+                }
+            }
+            taken[best] = true;
+            indices[e] = best;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,42 @@
+package GeneticAlgorithm;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Cuts the parents at k random points and exchanges every other segment
+ */
+public class KPointCrossover implements Crossover {
+    private final int points;
+
+    public KPointCrossover(int points) {
+        this.points = Math.max(1, points);
+    }
+
+    @Override
+    public Chromosomes[] cross(Chromosomes parent1, Chromosomes parent2, Random random) {
+        Chromosomes child1 = parent1.copy();
+        Chromosomes child2 = parent2.copy();
+
+        int size = child1.size();
+        int[] cuts = new int[points];
+        for (int p = 0; p < points; p++) {
+            cuts[p] = random.nextInt(size + 1);
+        }
+        Arrays.sort(cuts);
+
+        // segments [cuts[0], cuts[1]), [cuts[2], cuts[3]), ... are exchanged
+        for (int p = 0; p < points; p += 2) {
+            int end = p + 1 < points ? cuts[p + 1] : size;
+            for (int i = cuts[p]; i < end; i++) {
+                int vm1 = parent1.getVmIndex(i);
+                int vm2 = parent2.getVmIndex(i);
+                if (vm1 != vm2) {
+                    child1.updateGene(i, vm2);
+                    child2.updateGene(i, vm1);
+                }
+            }
+        }
+        return new Chromosomes[]{child1, child2};
+    }
+}
@@ -0,0 +1,11 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Changes a few genes of an offspring in place
+ */
+public interface Mutation {
+
+    void mutate(Chromosomes chromosome, SchedulingProblem problem, Random random);
+}
@@ -0,0 +1,54 @@
+package GeneticAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the initial population: one schedule per configured heuristic,
+ * mutated copies of those schedules up to the seeded fraction of the
+ * population, and random schedules for the rest
+ */
+public class PopulationSeeder {
+    private final SchedulingProblem problem;
+    private final GeneticAlgorithmConfig config;
+
+    public PopulationSeeder(SchedulingProblem problem, GeneticAlgorithmConfig config) {
+        this.problem = problem;
+        this.config = config;
+    }
+
+    public List<Chromosomes> seed(Random random) {
+        int populationSize = config.getPopulationSize(problem.getNumCloudlets());
+        List<Chromosomes> population = new ArrayList<>(populationSize);
+
+        List<Chromosomes> heuristics = new ArrayList<>();
+        for (SeedHeuristic heuristic : config.getSeedHeuristics()) {
+            if (population.size() < populationSize) {
+                Chromosomes chromosome = heuristic.build(problem, config.isOffHeap());
+                heuristics.add(chromosome);
+                population.add(chromosome);
+            }
+        }
+
+        int seeded = heuristics.isEmpty() ? 0 : (int) Math.round(populationSize * config.getSeededFraction());
+        while (population.size() < seeded) {
+            Chromosomes chromosome = heuristics.get(random.nextInt(heuristics.size())).copy();
+            config.getMutation().mutate(chromosome, problem, random);
+            population.add(chromosome);
+        }
+
+        while (population.size() < populationSize) {
+            Chromosomes chromosome = problem.newChromosome(config.isOffHeap());
+            for (int i = 0; i < problem.getNumCloudlets(); i++) {
+                chromosome.updateGene(i, random.nextInt(problem.getNumVms()));
+            }
+            population.add(chromosome);
+        }
+
+        // spread the seeds over the islands
+        Collections.shuffle(population, random);
+        return population;
+    }
+}
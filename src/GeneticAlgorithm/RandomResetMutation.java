@@ -0,0 +1,14 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Moves a random cloudlet to a random VM
+ */
+public class RandomResetMutation implements Mutation {
+
+    @Override
+    public void mutate(Chromosomes chromosome, SchedulingProblem problem, Random random) {
+        chromosome.updateGene(random.nextInt(chromosome.size()), random.nextInt(problem.getNumVms()));
+    }
+}
@@ -0,0 +1,30 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Selects a chromosome with a probability proportional to the inverse of its fitness
+ */
+public class RouletteWheelSelection implements Selection {
+
+    @Override
+    public int select(double[] fitness, Random random) {
+        double total = 0;
+        for (double value : fitness) {
+            total += weight(value);
+        }
+
+        double spin = random.nextDouble() * total;
+        for (int i = 0; i < fitness.length; i++) {
+            spin -= weight(fitness[i]);
+            if (spin <= 0) {
+                return i;
+            }
+        }
+        return fitness.length - 1;
+    }
+
+    private static double weight(double fitness) {
+        return 1.0 / (fitness + Double.MIN_NORMAL);
+    }
+}
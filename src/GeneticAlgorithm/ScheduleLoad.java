@@ -0,0 +1,129 @@
+package GeneticAlgorithm;
+
+/**
+ * Busy time accumulated on every VM by a chromosome. Under a space-shared
+ * cloudlet scheduler the cloudlets bound to a VM run one after the other, so
+ * the busy time of the most loaded VM is the makespan of the schedule.
+ * Moving a gene updates the loads in constant time; the largest and smallest
+ * load are only rescanned when the VM that held them gets lighter or heavier.
+ */
+public class ScheduleLoad {
+    private final SchedulingProblem problem;
+    private final double[] vmLoad;
+    private double totalExecutionTime;
+    private double totalCost;
+    private int maxVm = -1;
+    private int minVm = -1;
+
+    ScheduleLoad(SchedulingProblem problem, Chromosomes chromosome) {
+        this.problem = problem;
+        this.vmLoad = new double[problem.getNumVms()];
+        for (int i = 0; i < chromosome.size(); i++) {
+            add(i, chromosome.getVmIndex(i));
+        }
+    }
+
+    private ScheduleLoad(ScheduleLoad other) {
+        this.problem = other.problem;
+        this.vmLoad = other.vmLoad.clone();
+        this.totalExecutionTime = other.totalExecutionTime;
+        this.totalCost = other.totalCost;
+        this.maxVm = other.maxVm;
+        this.minVm = other.minVm;
+    }
+
+    ScheduleLoad copy() {
+        return new ScheduleLoad(this);
+    }
+
+    /**
+     * Moves a cloudlet from one VM to another
+     */
+    void move(int cloudletIndex, int fromVm, int toVm) {
+        if (fromVm != toVm) {
+            remove(cloudletIndex, fromVm);
+            add(cloudletIndex, toVm);
+        }
+    }
+
+    private void add(int cloudletIndex, int vmIndex) {
+        double executionTime = problem.getExecutionTime(cloudletIndex, vmIndex);
+        vmLoad[vmIndex] += executionTime;
+        totalExecutionTime += executionTime;
+        totalCost += executionTime * problem.getVmCostPerSecond(vmIndex);
+
+        if (maxVm >= 0 && vmLoad[vmIndex] > vmLoad[maxVm]) {
+            maxVm = vmIndex;
+        }
+        if (vmIndex == minVm) {
+            minVm = -1;
+        }
+    }
+
+    private void remove(int cloudletIndex, int vmIndex) {
+        double executionTime = problem.getExecutionTime(cloudletIndex, vmIndex);
+        vmLoad[vmIndex] -= executionTime;
+        totalExecutionTime -= executionTime;
+        totalCost -= executionTime * problem.getVmCostPerSecond(vmIndex);
+
+        if (minVm >= 0 && vmLoad[vmIndex] < vmLoad[minVm]) {
+            minVm = vmIndex;
+        }
+        if (vmIndex == maxVm) {
+            maxVm = -1;
+        }
+    }
+
+    public double getVmLoad(int vmIndex) {
+        return vmLoad[vmIndex];
+    }
+
+    /**
+     * Sum of the execution time of every cloudlet, the original GA fitness
+     */
+    public double getTotalExecutionTime() {
+        return totalExecutionTime;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Busy time of the most loaded VM
+     */
+    public double getMakespan() {
+        if (maxVm < 0) {
+            maxVm = 0;
+            for (int v = 1; v < vmLoad.length; v++) {
+                if (vmLoad[v] > vmLoad[maxVm]) {
+                    maxVm = v;
+                }
+            }
+        }
+        return vmLoad[maxVm];
+    }
+
+    /**
+     * Busy time of the least loaded VM
+     */
+    public double getMinLoad() {
+        if (minVm < 0) {
+            minVm = 0;
+            for (int v = 1; v < vmLoad.length; v++) {
+                if (vmLoad[v] < vmLoad[minVm]) {
+                    minVm = v;
+                }
+            }
+        }
+        return vmLoad[minVm];
+    }
+
+    /**
+     * Degree of imbalance (Tmax - Tmin) / Tavg over the VM busy times
+     */
+    public double getImbalanceDegree() {
+        double average = totalExecutionTime / vmLoad.length;
+        return average > 0 ? (getMakespan() - getMinLoad()) / average : 0;
+    }
+}
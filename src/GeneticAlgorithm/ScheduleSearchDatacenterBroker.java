@@ -0,0 +1,71 @@
+package GeneticAlgorithm;
+
+import Online.OnlineDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A Broker that searches the whole schedule of the batch when the cloudlets
+ * are submitted: the cloudlets and VMs are flattened into a
+ * {@link SchedulingProblem}, a subclass searches it, and every cloudlet is
+ * bound to the VM found for it and queued shortest first.
+ * <p>
+ * A search per arrival is far too slow, so online each arriving cloudlet goes
+ * to the VM expected to be free the earliest, found in O(log V).
+ */
+public abstract class ScheduleSearchDatacenterBroker extends OnlineDatacenterBroker {
+
+    protected ScheduleSearchDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    /**
+     * @return the problem the search runs on
+     */
+    protected SchedulingProblem createProblem(List<? extends Cloudlet> cloudlets) {
+        return new SchedulingProblem(cloudlets, getVmList());
+    }
+
+    /**
+     * Searches the schedule of a problem with at least one cloudlet and one VM
+     * @return for every cloudlet, by its index in the problem, the rank of the VM it is bound to
+     */
+    protected abstract IntUnaryOperator search(SchedulingProblem problem);
+
+    /**
+     * Binds the cloudlets submitted so far to the VMs the search chose and queues them shortest first
+     */
+    public void runSearch() {
+        SchedulingProblem problem = createProblem(getCloudletList());
+
+        if (problem.getNumCloudlets() == 0 || problem.getNumVms() == 0) {
+            return;
+        }
+
+        IntUnaryOperator schedule = search(problem);
+
+        List<Cloudlet> finalcloudletList = new ArrayList<>(problem.getNumCloudlets());
+        for (int i : problem.getCloudletsByLength()) {
+            Cloudlet cloudlet = problem.getCloudlet(i);
+            cloudlet.setVmId(problem.getVm(schedule.applyAsInt(i)).getId());
+            finalcloudletList.add(cloudlet);
+        }
+
+        getCloudletList().clear();
+        getCloudletList().addAll(finalcloudletList);
+    }
+
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        return findEarliestFreeVm();
+    }
+
+    @Override
+    public void submitCloudletList(List<? extends Cloudlet> list) {
+        getCloudletList().addAll(list);
+        runSearch();
+    }
+}
@@ -0,0 +1,162 @@
+package GeneticAlgorithm;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The cloudlets and VMs a schedule is searched for, flattened into primitive
+ * arrays that are shared by every chromosome of the population.
+ * <p>
+ * Cloudlets keep their submission order and {@link #getCloudletsByLength()}
+ * lists them shortest first. Execution times follow the model of
+ * {@link MinMin.CompletionTimeMatrix}: the work of the cloudlet (MI over all
+ * its PEs) over the capacity of the VM (MIPS over all its PEs). VMs are ranked
+ * by capacity, fastest first, and only the {@code min(cloudlets, vms)} fastest
+ * ones ("to be used") can appear in a gene: gene value k is the k-th fastest
+ * VM. The remaining VMs are left out, since a slower VM never completes a
+ * cloudlet earlier than an idle faster one.
+ */
+public class SchedulingProblem {
+    private final Cloudlet[] cloudlets;
+    private final double[] cloudletWork;
+    private final int[] cloudletsByLength;
+    private final Vm[] vms;
+    private final double[] vmCapacity;
+    private final double[] vmCostPerSecond;
+    private final int numVmsToBeUsed;
+    private final boolean parallel;
+
+    public SchedulingProblem(List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList) {
+        this(cloudletList, vmList, new GeneticAlgorithmConfig());
+    }
+
+    /**
+     * @param config  provides the VM cost model and whether sorting runs in parallel
+     */
+    public SchedulingProblem(List<? extends Cloudlet> cloudletList, List<? extends Vm> vmList, GeneticAlgorithmConfig config) {
+        this.parallel = config.isParallelPreprocessing();
+
+        this.cloudlets = cloudletList.toArray(new Cloudlet[0]);
+        double[] cloudletLengths = new double[cloudlets.length];
+        this.cloudletWork = new double[cloudlets.length];
+        for (int i = 0; i < cloudlets.length; i++) {
+            cloudletLengths[i] = cloudlets[i].getCloudletLength();
+            cloudletWork[i] = cloudletLengths[i] * cloudlets[i].getNumberOfPes();
+        }
+        this.cloudletsByLength = IndexSort.ascending(cloudletLengths, parallel);
+
+        Vm[] submittedVms = vmList.toArray(new Vm[0]);
+        double[] submittedCapacity = new double[submittedVms.length];
+        for (int i = 0; i < submittedVms.length; i++) {
+            submittedCapacity[i] = submittedVms[i].getMips() * submittedVms[i].getNumberOfPes();
+        }
+        int[] vmsByCapacity = IndexSort.descending(submittedCapacity, parallel);
+
+        this.vms = new Vm[submittedVms.length];
+        this.vmCapacity = new double[submittedVms.length];
+        this.vmCostPerSecond = new double[submittedVms.length];
+        ToDoubleFunction<Vm> vmCost = config.getVmCost();
+        for (int k = 0; k < vmsByCapacity.length; k++) {
+            vms[k] = submittedVms[vmsByCapacity[k]];
+            vmCapacity[k] = submittedCapacity[vmsByCapacity[k]];
+            vmCostPerSecond[k] = vmCost != null ? vmCost.applyAsDouble(vms[k]) : 0;
+        }
+        this.numVmsToBeUsed = Math.min(cloudlets.length, vms.length);
+    }
+
+    public int getNumCloudlets() {
+        return cloudlets.length;
+    }
+
+    /**
+     * @return number of VMs a gene can point to
+     */
+    public int getNumVms() {
+        return numVmsToBeUsed;
+    }
+
+    public Cloudlet getCloudlet(int index) {
+        return cloudlets[index];
+    }
+
+    /**
+     * @return the cloudlets in submission order
+     */
+    public List<Cloudlet> getCloudlets() {
+        return Collections.unmodifiableList(Arrays.asList(cloudlets));
+    }
+
+    /**
+     * @return indices of the cloudlets, shortest first; shared, must not be modified
+     */
+    public int[] getCloudletsByLength() {
+        return cloudletsByLength;
+    }
+
+    /**
+     * @param index  rank of the VM, 0 being the fastest
+     */
+    public Vm getVm(int index) {
+        return vms[index];
+    }
+
+    /**
+     * @return the VMs a gene can point to, fastest first
+     */
+    public List<Vm> getToBeUsedVms() {
+        return new ArrayList<>(Arrays.asList(vms).subList(0, numVmsToBeUsed));
+    }
+
+    /**
+     * @return the VMs slower than every VM to be used, fastest first
+     */
+    public List<Vm> getLeftOutVms() {
+        return new ArrayList<>(Arrays.asList(vms).subList(numVmsToBeUsed, vms.length));
+    }
+
+    /**
+     * @return MI of the cloudlet over all its PEs
+     */
+    public double getCloudletWork(int index) {
+        return cloudletWork[index];
+    }
+
+    /**
+     * @return MIPS of the VM over all its PEs
+     */
+    public double getVmCapacity(int index) {
+        return vmCapacity[index];
+    }
+
+    public double getVmCostPerSecond(int index) {
+        return vmCostPerSecond[index];
+    }
+
+    /**
+     * Time needed to run a cloudlet alone on a VM
+     */
+    public double getExecutionTime(int cloudletIndex, int vmIndex) {
+        return cloudletWork[cloudletIndex] / vmCapacity[vmIndex];
+    }
+
+    /**
+     * @return whether sorting the cloudlets and VMs runs on the common fork-join pool
+     */
+    public boolean isParallelPreprocessing() {
+        return parallel;
+    }
+
+    /**
+     * Creates an empty chromosome sized for this problem
+     * @param offHeap  whether the genes are stored outside of the Java heap
+     */
+    public Chromosomes newChromosome(boolean offHeap) {
+        return Chromosomes.allocate(cloudlets.length, numVmsToBeUsed, offHeap);
+    }
+}
@@ -0,0 +1,90 @@
+package GeneticAlgorithm;
+
+import MinMin.CompletionTimeMatrix;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Fast constructive schedules injected into the initial population.
+ * <p>
+ * Min-Min and Max-Min are computed on the {@link CompletionTimeMatrix} of the
+ * VMs to be used, as MinMinDatacenterBroker and MaxMinDatacenterBroker bind
+ * the batch, so the seeds follow the cost model of the schedules they seed;
+ * both run in O(n log n + n * m).
+ */
+public enum SeedHeuristic {
+
+    MIN_MIN {
+        @Override
+        Chromosomes build(SchedulingProblem problem, boolean offHeap) {
+            return earliestCompletion(problem, false, offHeap);
+        }
+    },
+
+    MAX_MIN {
+        @Override
+        Chromosomes build(SchedulingProblem problem, boolean offHeap) {
+            return earliestCompletion(problem, true, offHeap);
+        }
+    },
+
+    /**
+     * Shortest cloudlet first on the VM that is expected to be free the earliest,
+     * as ShortestJobFirstDatacenterBroker binds them
+     */
+    SHORTEST_JOB_FIRST {
+        @Override
+        Chromosomes build(SchedulingProblem problem, boolean offHeap) {
+            Chromosomes chromosome = problem.newChromosome(offHeap);
+            double[] ready = new double[problem.getNumVms()];
+            PriorityQueue<Integer> earliestFreeVm = new PriorityQueue<>(problem.getNumVms(),
+                    Comparator.comparingDouble((Integer v) -> ready[v]).thenComparingInt(v -> v));
+            for (int v = 0; v < problem.getNumVms(); v++) {
+                earliestFreeVm.add(v);
+            }
+
+            for (int i : problem.getCloudletsByLength()) {
+                int v = earliestFreeVm.poll();
+                ready[v] += problem.getExecutionTime(i, v);
+                earliestFreeVm.add(v);
+                chromosome.updateGene(i, v);
+            }
+            return chromosome;
+        }
+    },
+
+    /**
+     * Cloudlet i on the (i % m)-th fastest VM: the cloudlets are dealt out in
+     * submission order as the default broker does, but over the VMs by rank
+     */
+    ROUND_ROBIN {
+        @Override
+        Chromosomes build(SchedulingProblem problem, boolean offHeap) {
+            Chromosomes chromosome = problem.newChromosome(offHeap);
+            for (int i = 0; i < problem.getNumCloudlets(); i++) {
+                chromosome.updateGene(i, i % problem.getNumVms());
+            }
+            return chromosome;
+        }
+    };
+
+    abstract Chromosomes build(SchedulingProblem problem, boolean offHeap);
+
+    /**
+     * Places the cloudlets, least or most work first, each on the VM where it completes first
+     */
+    private static Chromosomes earliestCompletion(SchedulingProblem problem, boolean mostWorkFirst, boolean offHeap) {
+        Chromosomes chromosome = problem.newChromosome(offHeap);
+        CompletionTimeMatrix matrix = new CompletionTimeMatrix(problem.getCloudlets(), problem.getToBeUsedVms(),
+                new double[problem.getNumVms()], problem.isParallelPreprocessing());
+        int[] order = mostWorkFirst ? matrix.getCloudletsByWorkDescending() : matrix.getCloudletsByWork();
+
+        for (int i : order) {
+            int v = matrix.getBestVm(i);
+            matrix.assign(i, v);
+            chromosome.updateGene(i, v);
+        }
+        return chromosome;
+    }
+}
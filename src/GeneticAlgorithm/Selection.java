@@ -0,0 +1,15 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Picks the parents of the next generation
+ */
+public interface Selection {
+
+    /**
+     * @param fitness  fitness of every chromosome of the population, lower is fitter
+     * @return index of the selected chromosome
+     */
+    int select(double[] fitness, Random random);
+}
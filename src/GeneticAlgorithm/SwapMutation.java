@@ -0,0 +1,18 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Exchanges the VMs of two random cloudlets
+ */
+public class SwapMutation implements Mutation {
+
+    @Override
+    public void mutate(Chromosomes chromosome, SchedulingProblem problem, Random random) {
+        int i = random.nextInt(chromosome.size());
+        int j = random.nextInt(chromosome.size());
+        int vmI = chromosome.getVmIndex(i);
+        chromosome.updateGene(i, chromosome.getVmIndex(j));
+        chromosome.updateGene(j, vmI);
+    }
+}
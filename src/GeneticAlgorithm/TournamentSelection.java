@@ -0,0 +1,26 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Returns the fittest of a few chromosomes drawn at random
+ */
+public class TournamentSelection implements Selection {
+    private final int tournamentSize;
+
+    public TournamentSelection(int tournamentSize) {
+        this.tournamentSize = Math.max(1, tournamentSize);
+    }
+
+    @Override
+    public int select(double[] fitness, Random random) {
+        int best = random.nextInt(fitness.length);
+        for (int i = 1; i < tournamentSize; i++) {
+            int candidate = random.nextInt(fitness.length);
+            if (fitness[candidate] < fitness[best]) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
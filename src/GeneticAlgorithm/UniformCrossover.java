@@ -0,0 +1,34 @@
+package GeneticAlgorithm;
+
+import java.util.Random;
+
+/**
+ * Exchanges every gene between the parents with a fixed probability
+ */
+public class UniformCrossover implements Crossover {
+    private final double swapProbability;
+
+    public UniformCrossover() {
+        this(0.5);
+    }
+
+    public UniformCrossover(double swapProbability) {
+        this.swapProbability = swapProbability;
+    }
+
+    @Override
+    public Chromosomes[] cross(Chromosomes parent1, Chromosomes parent2, Random random) {
+        Chromosomes child1 = parent1.copy();
+        Chromosomes child2 = parent2.copy();
+
+        for (int i = 0; i < child1.size(); i++) {
+            int vm1 = parent1.getVmIndex(i);
+            int vm2 = parent2.getVmIndex(i);
+            if (vm1 != vm2 && random.nextDouble() < swapProbability) {
+                child1.updateGene(i, vm2);
+                child2.updateGene(i, vm1);
+            }
+        }
+        return new Chromosomes[]{child1, child2};
+    }
+}
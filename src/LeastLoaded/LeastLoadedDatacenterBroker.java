@@ -0,0 +1,136 @@
+package LeastLoaded;
+
+import Online.IndexedMinHeap;
+import Online.OnlineDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A Broker that sends every cloudlet to the VM with the least outstanding
+ * work, measured as the seconds the VM needs to drain the cloudlets sent to
+ * it and not yet returned. The counters are updated on every submission and
+ * on every return, so both batch and online arrivals see the live load.
+ * <p>
+ * {@link Mode#LEAST_LOADED} keeps the VMs in an indexed min-heap ordered by
+ * load, O(log V) per cloudlet. {@link Mode#POWER_OF_TWO_CHOICES} samples two
+ * VMs at random and takes the one that would finish the cloudlet first, O(1)
+ * per cloudlet and almost as balanced.
+ */
+public class LeastLoadedDatacenterBroker extends OnlineDatacenterBroker {
+
+    public enum Mode {
+        LEAST_LOADED,
+        POWER_OF_TWO_CHOICES
+    }
+
+    private final Random random;
+    private Mode mode = Mode.LEAST_LOADED;
+
+    private double[] outstandingWork;   // MI sent to each VM and not returned yet
+    private double[] capacity;          // MIPS of each VM over all its PEs
+    private IndexedMinHeap leastLoaded;
+
+    public LeastLoadedDatacenterBroker(String name) throws Exception {
+        super(name);
+        this.random = new Random();
+    }
+
+    /**
+     * @param seed  seed of the sampling of {@link Mode#POWER_OF_TWO_CHOICES}
+     */
+    public LeastLoadedDatacenterBroker(String name, Mode mode, long seed) throws Exception {
+        super(name);
+        this.mode = mode;
+        this.random = new Random(seed);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    protected void onVmsReady() {
+        List<Vm> vms = getOnlineVms();
+        outstandingWork = new double[vms.size()];
+        capacity = new double[vms.size()];
+        leastLoaded = new IndexedMinHeap(vms.size());
+
+        for (int v = 0; v < vms.size(); v++) {
+            capacity[v] = vms.get(v).getMips() * vms.get(v).getNumberOfPes();
+            leastLoaded.set(v, 0);
+        }
+    }
+
+    /**
+     * @return seconds the VM needs to finish the work it has been sent
+     */
+    public double getLoad(int v) {
+        return outstandingWork[v] / capacity[v];
+    }
+
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        if (mode == Mode.LEAST_LOADED || capacity.length == 1) {
+            return leastLoaded.peek();
+        }
+
+        int first = random.nextInt(capacity.length);
+        int second = random.nextInt(capacity.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        double work = getWork(cloudlet);
+        return (outstandingWork[first] + work) / capacity[first] <= (outstandingWork[second] + work) / capacity[second]
+                ? first : second;
+    }
+
+    @Override
+    protected void sendToVm(Cloudlet cloudlet, int v) {
+        super.sendToVm(cloudlet, v);
+        outstandingWork[v] += getWork(cloudlet);
+        leastLoaded.set(v, getLoad(v));
+    }
+
+    @Override
+    protected void onCloudletReturned(Cloudlet cloudlet, int v) {
+        outstandingWork[v] = Math.max(0, outstandingWork[v] - getWork(cloudlet));
+        leastLoaded.set(v, getLoad(v));
+    }
+
+    @Override
+    protected void onCloudletStolen(Cloudlet cloudlet, int from, int to) {
+        outstandingWork[from] = Math.max(0, outstandingWork[from] - getWork(cloudlet));
+        leastLoaded.set(from, getLoad(from));
+        outstandingWork[to] += getWork(cloudlet);
+        leastLoaded.set(to, getLoad(to));
+    }
+
+    /**
+     * Binds the batch in submission order, each cloudlet on the VM least loaded at that point
+     */
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (getOnlineVms().isEmpty()) {
+            return;
+        }
+
+        for (Cloudlet cloudlet : new ArrayList<Cloudlet>(getCloudletList())) {
+            sendToVm(cloudlet, selectVm(cloudlet));
+        }
+
+        getCloudletList().clear();
+    }
+
+    private static double getWork(Cloudlet cloudlet) {
+        return (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes();
+    }
+}
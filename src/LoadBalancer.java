@@ -8,21 +8,40 @@
  *               Murtaza Ali
  */
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
 
 
 //import RoundRobin.RoundRobinDatacenterBroker;
+import ActiveMonitoring.ActiveMonitoringDatacenterBroker;
+import AntColony.AntColonyDatacenterBroker;
 import GeneticAlgorithm.GeneticAlgorithmDatacenterBroker;
 import FirstComeFirstServe.FCFSDatacenterBroker;
+import LeastLoaded.LeastLoadedDatacenterBroker;
+import MaxMin.MaxMinDatacenterBroker;
+import MinMin.MinMinDatacenterBroker;
+import ParticleSwarm.ParticleSwarmDatacenterBroker;
 import Priority.PriorityDatacenterBroker;
 import RoundRobin.RoundRobinDatacenterBroker;
 import ShortestJobFirst.ShortestJobFirstDatacenterBroker;
+import Throttled.ThrottledDatacenterBroker;
+import Metrics.CloudletMetricsWriter;
+import Metrics.MetricsSummary;
+import Simulation.BrokerType;
+import Simulation.Scenario;
+import Simulation.SimulationConfig;
+import Online.CloudletFeeder;
+import Online.OnlineDatacenterBroker;
+import Topology.TopologyBuilder;
+import Workload.TimedCloudlet;
+import Workload.TraceReader;
+import Workload.WorkloadGenerator;
 import org.cloudbus.cloudsim.*;
 import RoundRobin.*;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
-import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
-import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 
 public class LoadBalancer {
 
@@ -58,7 +77,7 @@ public class LoadBalancer {
         UtilizationModel utilizationModel = new UtilizationModelFull();
 
         for(int i = 0; i < numberOfCloudlet; i++){
-            Cloudlet cloudlet = new Cloudlet(i, (length + 2L * i * 10), pesNumber, fileSize, outputSize, utilizationModel, utilizationModel, utilizationModel);
+            Cloudlet cloudlet = new TimedCloudlet(i, (length + 2L * i * 10), pesNumber, fileSize, outputSize, utilizationModel, utilizationModel, utilizationModel, 0);
             cloudlet.setUserId(userId);
             list.add(cloudlet);
         }
@@ -66,6 +85,35 @@ public class LoadBalancer {
         return list;
     }
 
+    /**
+     * Opens a job trace for replay, narrowing jobs to the widest VM so every one of them can run
+     * @param limit  number of jobs replayed at most, 0 for the whole trace
+     */
+    private static TraceReader openTrace(int userId, String trace, int limit, List<Vm> vmList) throws IOException {
+        int maxPes = 1;
+        for (Vm vm : vmList) {
+            maxPes = Math.max(maxPes, vm.getNumberOfPes());
+        }
+
+        TraceReader reader = TraceReader.open(Paths.get(trace));
+        reader.setUserId(userId);
+        reader.setMaxPes(maxPes);
+        if (limit > 0) {
+            reader.setLimit(limit);
+        }
+        return reader;
+    }
+
+    private static List<Cloudlet> createCloudletFromTrace(int userId, String trace, int limit, List<Vm> vmList) throws IOException {
+        List<Cloudlet> list = new ArrayList<>();
+
+        try (TraceReader reader = openTrace(userId, trace, limit, vmList)) {
+            reader.forEachRemaining(list::add);
+        }
+
+        return list;
+    }
+
     public static void main(String[] args) {
         Log.printLine();
         Log.printLine("===================================== Load Balancer ==================================");
@@ -76,6 +124,12 @@ public class LoadBalancer {
                 "\n              Chirayu Mehta" +
                 "\n              Malay Saxena" +
                 "\n              Murtaza Ali");
+
+        if (SimulationConfig.isHeadless(args)) {
+            runHeadless(args);
+            return;
+        }
+
         try {
             Calendar calendar = Calendar.getInstance();
 
@@ -94,9 +148,7 @@ public class LoadBalancer {
             Log.printLine("Enter number of datacenters:");
             int numberOfDatacenters = scanner.nextInt();
 
-            for (int i = 0; i < numberOfDatacenters; i++) {
-                createDatacenter("Datacenter_" + i);
-            }
+            new TopologyBuilder().createDatacenters(numberOfDatacenters);
 
             Log.printLine();
             Log.printLine("Third step: Create Broker");
@@ -105,7 +157,16 @@ public class LoadBalancer {
                     "\n2. Shortest Job First" +
                     "\n3. First Come First Serve" +
                     "\n4. Genetic Algorithm"+
-                    "\n5. Priority");
+                    "\n5. Priority" +
+                    "\n6. Least Loaded" +
+                    "\n7. Weighted Round Robin" +
+                    "\n8. Time Quantum Round Robin" +
+                    "\n9. Min-Min" +
+                    "\n10. Max-Min" +
+                    "\n11. Ant Colony Optimization" +
+                    "\n12. Particle Swarm Optimization" +
+                    "\n13. Throttled" +
+                    "\n14. Active Monitoring");
 
             DatacenterBroker broker = null;
             boolean gotBroker = false;
@@ -134,6 +195,42 @@ public class LoadBalancer {
                             broker = new PriorityDatacenterBroker("Broker");
                             gotBroker = true;
                             break;
+                        case 6 :
+                            broker = new LeastLoadedDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 7 :
+                            broker = new WeightedRoundRobinDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 8 :
+                            broker = new TimeQuantumDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 9 :
+                            broker = new MinMinDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 10 :
+                            broker = new MaxMinDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 11 :
+                            broker = new AntColonyDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 12 :
+                            broker = new ParticleSwarmDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 13 :
+                            broker = new ThrottledDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
+                        case 14 :
+                            broker = new ActiveMonitoringDatacenterBroker("Broker");
+                            gotBroker = true;
+                            break;
                         default:
                             Log.printLine("Please, select from [1-] only:");
                             break;
@@ -181,6 +278,10 @@ public class LoadBalancer {
 
             printCloudletList(cloudletReceivedList);
 
+            MetricsSummary summary = new MetricsSummary(broker.getVmList(), cloudletList.size());
+            summary.recordAll(cloudletReceivedList);
+            Log.printLine(summary);
+
             Log.printLine();
             Log.printLine("Simulation Complete");
         }
@@ -191,116 +292,108 @@ public class LoadBalancer {
         }
     }
 
-    private static Datacenter createDatacenter(String name){
-
-        // Here are the steps needed to create a PowerDatacenter:
-        // 1. We need to create a list to store one or more
-        //    Machines
-        List<Host> hostList = new ArrayList<>();
-
-        // 2. A Machine contains one or more PEs or CPUs/Cores. Therefore, should
-        //    create a list to store these PEs before creating
-        //    a Machine.
-        List<Pe> peList1 = new ArrayList<>();
-
-        int mips = 10000;
-
-        // 3. Create PEs and add these into the list.
-        //for a quad-core machine, a list of 4 PEs is required:
-        peList1.add(new Pe(0, new PeProvisionerSimple(mips + 500))); // need to store Pe id and MIPS Rating
-        peList1.add(new Pe(1, new PeProvisionerSimple(mips + 1000)));
-        peList1.add(new Pe(2, new PeProvisionerSimple(mips + 1500)));
-        peList1.add(new Pe(3, new PeProvisionerSimple(mips + 700)));
-
-        //Another list, for a dual-core machine
-        List<Pe> peList2 = new ArrayList<>();
-
-        peList2.add(new Pe(0, new PeProvisionerSimple(mips + 700)));
-        peList2.add(new Pe(1, new PeProvisionerSimple(mips + 900)));
-
-        //4. Create Hosts with its id and list of PEs and add them to the list of machines
-        int hostId=0;
-        int ram = 1002048; //host memory (MB)
-        long storage = 1000000; //host storage
-        int bw = 10000;
-
-        hostList.add(
-                new Host(
-                        hostId,
-                        new RamProvisionerSimple(ram),
-                        new BwProvisionerSimple(bw),
-                        storage,
-                        peList1,
-                        new VmSchedulerTimeShared(peList1)
-                )
-        ); // This is our first machine
-
-        hostId++;
-
-        hostList.add(
-                new Host(
-                        hostId,
-                        new RamProvisionerSimple(ram),
-                        new BwProvisionerSimple(bw),
-                        storage,
-                        peList2,
-                        new VmSchedulerTimeShared(peList2)
-                )
-        ); // Second machine
-
-
-        //To create a host with a space-shared allocation policy for PEs to VMs:
-        //hostList.add(
-        //		new Host(
-        //			hostId,
-        //			new CpuProvisionerSimple(peList1),
-        //			new RamProvisionerSimple(ram),
-        //			new BwProvisionerSimple(bw),
-        //			storage,
-        //			new VmSchedulerSpaceShared(peList1)
-        //		)
-        //	);
-
-        //To create a host with an opportunistic space-shared allocation policy for PEs to VMs:
-        //hostList.add(
-        //		new Host(
-        //			hostId,
-        //			new CpuProvisionerSimple(peList1),
-        //			new RamProvisionerSimple(ram),
-        //			new BwProvisionerSimple(bw),
-        //			storage,
-        //			new VmSchedulerOpportunisticSpaceShared(peList1)
-        //		)
-        //	);
-
-
-        // 5. Create a DatacenterCharacteristics object that stores the
-        //    properties of a data center: architecture, OS, list of
-        //    Machines, allocation policy: time- or space-shared, time zone
-        //    and its price (G$/Pe time unit).
-        String arch = "x86";      // system architecture
-        String os = "Linux";          // operating system
-        String vmm = "Xen";
-        double time_zone = 10.0;         // time zone this resource located
-        double cost = 3.0;              // the cost of using processing in this resource
-        double costPerMem = 0.05;		// the cost of using memory in this resource
-        double costPerStorage = 0.1;	// the cost of using storage in this resource
-        double costPerBw = 0.1;			// the cost of using bw in this resource
-        LinkedList<Storage> storageList = new LinkedList<>();	//we are not adding SAN devices by now
-
-        DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
-                arch, os, vmm, hostList, time_zone, cost, costPerMem, costPerStorage, costPerBw);
-
-
-        // 6. Finally, we need to create a PowerDatacenter object.
-        Datacenter datacenter = null;
+    /**
+     * Runs every configured scenario with every configured broker without reading stdin
+     * @param args  options described in {@link SimulationConfig}
+     */
+    private static void runHeadless(String[] args) {
+        SimulationConfig config;
+        WorkloadGenerator workload;
+        TopologyBuilder topology;
         try {
-            datacenter = new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList), storageList, 0);
+            config = SimulationConfig.parse(args);
+            workload = config.createWorkloadGenerator();
+            topology = config.createTopology();
         } catch (Exception e) {
-            e.printStackTrace();
+            System.err.println(e.getMessage());
+            System.err.println(SimulationConfig.USAGE);
+            System.exit(2);
+            return;
         }
 
-        return datacenter;
+        try (BufferedWriter writer = config.getOutput() != null ? Files.newBufferedWriter(Paths.get(config.getOutput())) : null;
+             CloudletMetricsWriter metricsWriter = config.getMetrics() != null ? new CloudletMetricsWriter(Paths.get(config.getMetrics())) : null) {
+            if (writer != null) {
+                writer.write("broker,datacenters,vms,cloudlets," + String.join(",", MetricsSummary.COLUMNS));
+                writer.newLine();
+            }
+
+            for (Scenario scenario : config.getScenarios()) {
+                for (BrokerType type : config.getBrokers()) {
+                    Log.printLine();
+                    Log.printLine("Scenario: " + scenario + ", broker: " + type.getBrokerName());
+
+                    CloudSim.init(scenario.getNumUsers(), Calendar.getInstance(), false);
+
+                    topology.createDatacenters(scenario.getNumberOfDatacenters());
+
+                    DatacenterBroker broker = config.createBroker(type, "Broker");
+                    int brokerId = broker.getId();
+
+                    List<Vm> vmList = workload != null ? workload.createVms(brokerId, scenario.getNumberOfVm())
+                            : createVM(brokerId, scenario.getNumberOfVm());
+                    topology.getPlacement().sortForSubmission(vmList);
+                    broker.submitVmList(vmList);
+
+                    CloudletFeeder feeder = null;
+                    List<Cloudlet> cloudletList = null;
+                    if (config.isOnline()) {
+                        // cloudlets are released over simulated time, read or generated only when they arrive
+                        Iterator<? extends Cloudlet> arrivals;
+                        if (config.getTrace() != null) {
+                            arrivals = openTrace(brokerId, config.getTrace(), scenario.getNumberOfCloudlet(), vmList);
+                        } else if (workload != null) {
+                            arrivals = workload.cloudlets(brokerId, scenario.getNumberOfCloudlet());
+                        } else {
+                            arrivals = createCloudlet(brokerId, scenario.getNumberOfCloudlet()).iterator();
+                        }
+                        feeder = new CloudletFeeder("Feeder", (OnlineDatacenterBroker) broker, arrivals);
+                    } else if (config.getTrace() != null) {
+                        cloudletList = createCloudletFromTrace(brokerId, config.getTrace(), scenario.getNumberOfCloudlet(), vmList);
+                    } else if (workload != null) {
+                        cloudletList = workload.createCloudlets(brokerId, scenario.getNumberOfCloudlet());
+                    } else {
+                        cloudletList = createCloudlet(brokerId, scenario.getNumberOfCloudlet());
+                    }
+                    if (cloudletList != null) {
+                        broker.submitCloudletList(cloudletList);
+                    }
+
+                    CloudSim.startSimulation();
+
+                    List<Cloudlet> cloudletReceivedList = broker.getCloudletReceivedList();
+
+                    CloudSim.stopSimulation();
+
+                    // the per-cloudlet table is left out here, every cloudlet goes to --metrics instead
+                    long submitted = feeder != null ? feeder.getReleased() : cloudletList.size();
+                    MetricsSummary summary = new MetricsSummary(broker.getVmList(), submitted);
+                    for (Cloudlet value : cloudletReceivedList) {
+                        summary.record(value);
+                        if (metricsWriter != null) {
+                            metricsWriter.write(type.getBrokerName(), scenario, value);
+                        }
+                    }
+                    Log.printLine(summary);
+
+                    if (writer != null) {
+                        writer.write(type.getBrokerName() + "," + scenario.getNumberOfDatacenters() + ","
+                                + scenario.getNumberOfVm() + "," + scenario.getNumberOfCloudlet() + ","
+                                + String.join(",", summary.toMap().values()));
+                        writer.newLine();
+                    }
+                }
+            }
+
+            Log.printLine();
+            Log.printLine("Simulation Complete");
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            Log.printLine("The simulation has been terminated due to an unexpected error");
+            System.exit(1);
+        }
     }
 
     /**
@@ -326,7 +419,7 @@ public class LoadBalancer {
 
                 Log.printLine(indent + indent + String.format("%02d", value.getResourceId()) +
                         indent + indent + indent + String.format("%02d", value.getVmId()) +
-                        indent + indent + String.format("%.2f", value.getActualCPUTime()) +
+                        indent + indent + String.format("%.2f", MetricsSummary.getCpuTime(value)) +
                         indent + indent + String.format("%.2f", value.getExecStartTime()) +
                         indent + indent + indent + String.format("%.2f", value.getFinishTime()));
             }
@@ -1,20 +1,38 @@
-import FirstComeFirstServe.FCFSDatacenterBroker;
-import GeneticAlgorithm.GeneticAlgorithmDatacenterBroker;
-import Priority.PriorityDatacenterBroker;
-import RoundRobin.RoundRobinDatacenterBroker;
-import ShortestJobFirst.ShortestJobFirstDatacenterBroker;
+import Metrics.CloudletMetricsWriter;
+import Metrics.MetricsSummary;
+import Simulation.BrokerType;
+import Simulation.Scenario;
+import Simulation.SimulationConfig;
+import Topology.TopologyBuilder;
+import Online.CloudletFeeder;
+import Online.OnlineDatacenterBroker;
+import Workload.TimedCloudlet;
+import Workload.TraceReader;
+import Workload.WorkloadGenerator;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
-import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
-import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class LoadBalancerComparison {
 
+    private static final String WORKER_FLAG = "--worker";
+    private static final String SEQUENTIAL_FLAG = "--sequential";
+    private static final String RESULT_PREFIX = "#RESULT\t";
+
     private static List<Map<String, String>> results = new ArrayList<>();
-    
+
     private static List<Vm> createVM(int userId, int numberOfVm) {
         //Creates a container to store VMs. This list is passed to the broker later
         LinkedList<Vm> list = new LinkedList<>();
@@ -47,7 +65,7 @@ public class LoadBalancerComparison {
         UtilizationModel utilizationModel = new UtilizationModelFull();
 
         for(int i = 0; i < numberOfCloudlet; i++){
-            Cloudlet cloudlet = new Cloudlet(i, (length + 2L * i * 10), pesNumber, fileSize, outputSize, utilizationModel, utilizationModel, utilizationModel);
+            Cloudlet cloudlet = new TimedCloudlet(i, (length + 2L * i * 10), pesNumber, fileSize, outputSize, utilizationModel, utilizationModel, utilizationModel, 0);
             cloudlet.setUserId(userId);
             list.add(cloudlet);
         }
@@ -55,7 +73,41 @@ public class LoadBalancerComparison {
         return list;
     }
 
+    /**
+     * Opens a job trace for replay, narrowing jobs to the widest VM so every one of them can run
+     * @param limit  number of jobs replayed at most, 0 for the whole trace
+     */
+    private static TraceReader openTrace(int userId, String trace, int limit, List<Vm> vmList) throws IOException {
+        int maxPes = 1;
+        for (Vm vm : vmList) {
+            maxPes = Math.max(maxPes, vm.getNumberOfPes());
+        }
+
+        TraceReader reader = TraceReader.open(Paths.get(trace));
+        reader.setUserId(userId);
+        reader.setMaxPes(maxPes);
+        if (limit > 0) {
+            reader.setLimit(limit);
+        }
+        return reader;
+    }
+
+    private static List<Cloudlet> createCloudletFromTrace(int userId, String trace, int limit, List<Vm> vmList) throws IOException {
+        List<Cloudlet> list = new ArrayList<>();
+
+        try (TraceReader reader = openTrace(userId, trace, limit, vmList)) {
+            reader.forEachRemaining(list::add);
+        }
+
+        return list;
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0 && WORKER_FLAG.equals(args[0])) {
+            runWorker(args);
+            return;
+        }
+
         Log.printLine();
         Log.printLine("===================================== Load Balancer ==================================");
         Log.printLine("Title:        LoadBalancer" +
@@ -66,258 +118,351 @@ public class LoadBalancerComparison {
                 "\n              Malay Saxena" +
                 "\n              Murtaza Ali");
         try {
-            Calendar calendar = Calendar.getInstance();
+            List<Scenario> scenarios;
+            List<BrokerType> brokers = Arrays.asList(BrokerType.values());
+            SimulationConfig config = new SimulationConfig();
+            List<String> options = Collections.emptyList();
+            boolean sequential = Arrays.asList(args).contains(SEQUENTIAL_FLAG);
 
-            Scanner scanner = new Scanner(System.in);
+            if (SimulationConfig.isHeadless(args)) {
+                try {
+                    config = SimulationConfig.parse(args);
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    System.err.println(SimulationConfig.USAGE);
+                    System.exit(2);
+                    return;
+                }
+                scenarios = config.getScenarios();
+                brokers = config.getBrokers();
+                options = Arrays.asList(args);
+                sequential = config.isSequential();
+            } else {
+                Scanner scanner = new Scanner(System.in);
 
-            Log.printLine();
-            Log.printLine("First step: Initialize the CloudSim package.");
-            Log.printLine("Enter number of grid users:");
-            int numUsers = scanner.nextInt();
+                Log.printLine();
+                Log.printLine("First step: Initialize the CloudSim package.");
+                Log.printLine("Enter number of grid users:");
+                int numUsers = scanner.nextInt();
 
-            Log.printLine();
-            Log.printLine("Second step: Create Datacenters are the resource providers in CloudSim. We need at list one of them to run a CloudSim simulation.");
-            Log.printLine("Enter number of datacenters:");
-            int numberOfDatacenters = scanner.nextInt();
+                Log.printLine();
+                Log.printLine("Second step: Create Datacenters are the resource providers in CloudSim. We need at list one of them to run a CloudSim simulation.");
+                Log.printLine("Enter number of datacenters:");
+                int numberOfDatacenters = scanner.nextInt();
+
+                Log.printLine();
+                Log.printLine("Third step: Create Broker");
 
-            Log.printLine();
-            Log.printLine("Third step: Create Broker");
+                Log.printLine("Enter number of vms:");
+                int numberOfVm = scanner.nextInt();
 
-            Log.printLine("Enter number of vms:");
-            int numberOfVm = scanner.nextInt();
+                Log.printLine("Enter number of cloudlet");
+                int numberOfCloudlet = scanner.nextInt();
 
-            Log.printLine("Enter number of cloudlet");
-            int numberOfCloudlet = scanner.nextInt();
+                scenarios = Collections.singletonList(new Scenario(numUsers, numberOfDatacenters, numberOfVm, numberOfCloudlet));
+            }
 
-            for (int i = 1; i <= 5 ; i++) {
-                CloudSim.init(numUsers, calendar, true);
+            for (Scenario scenario : scenarios) {
+                int firstResult = results.size();
 
-                DatacenterBroker broker = null;
-                try {
-                    switch (i) {
-                        case 1:
-                            broker = new RoundRobinDatacenterBroker("RoundRobinDatacenterBroker");
-                            break;
-                        case 2:
-                            broker = new ShortestJobFirstDatacenterBroker("ShortestJobFirstDatacenterBroker");
-                            break;
-                        case 3:
-                            broker = new PriorityDatacenterBroker("PriorityDatacenterBroker");
-                            break;
-                        case 4:
-                            broker = new FCFSDatacenterBroker("FirstComeFirstServeDatacenterBroker");
-                            break;
-                        case 5:
-                            broker = new GeneticAlgorithmDatacenterBroker("GeneticAlgorithmDatacenterBroker");
-                            break;
-                        default:
-                            Log.printLine("Please, select from [1-5] only:");
-                            break;
+                if (sequential) {
+                    for (BrokerType broker : brokers) {
+                        runBroker(broker, scenario, config);
                     }
-                } catch (Exception e) {
-                    e.printStackTrace();
+                } else {
+                    runBrokersInParallel(brokers, scenario, options);
                 }
 
-                for (int j = 0; j < numberOfDatacenters; j++) {
-                    createDatacenter("Datacenter_" + j);
+                for (Map<String, String> result : results.subList(firstResult, results.size())) {
+                    result.put("datacenters", String.valueOf(scenario.getNumberOfDatacenters()));
+                    result.put("vms", String.valueOf(scenario.getNumberOfVm()));
+                    result.put("cloudlets", String.valueOf(scenario.getNumberOfCloudlet()));
                 }
 
-                assert broker != null;
-                int brokerId = broker.getId();
-                String brokerName = broker.getName();
+                if (scenarios.size() > 1) {
+                    System.out.println("Scenario: " + scenario);
+                }
+                printResultTable(results.subList(firstResult, results.size()));
+            }
 
-                Log.printLine("Broker: " + brokerName);
-                Log.printLine("Create VMs");
+            if (config.getOutput() != null) {
+                writeResults(Paths.get(config.getOutput()));
+            }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            Log.printLine("The simulation has been terminated due to an unexpected error");
+        }
+    }
 
-                List<Vm> vmList = createVM(brokerId, numberOfVm);
+    private static void printResultTable(List<Map<String, String>> scenarioResults) {
+        String leftAlignFormat = "| %-39s | %-15s | %-15s | %-15s | %-15s | %-15s | %-7s |%n";
+        String separator = "+-----------------------------------------+-----------------+-----------------+-----------------+-----------------+-----------------+---------+%n";
 
-                Log.printLine();
-                Log.printLine("Create Cloudlets");
+        System.out.format(separator);
+        System.out.format("| Broker                                  | Total CPU Time  | Average CPU Time| Makespan        | p95 Response    | Imbalance       | Lost    |%n");
+        System.out.format(separator);
+        for (Map<String, String> result: scenarioResults) {
+            System.out.format(leftAlignFormat, result.get("broker"), result.get("total_cpu_time"), result.get("average_cpu_time"),
+                    result.get("makespan"), result.get("p95_response_time"), result.get("imbalance_degree"), result.get("lost"));
+        }
+        System.out.format(separator);
+    }
 
-                List<Cloudlet> cloudletList = createCloudlet(brokerId, numberOfCloudlet);
+    /**
+     * Writes the results of every scenario as CSV
+     */
+    private static void writeResults(Path output) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write("broker,datacenters,vms,cloudlets," + String.join(",", MetricsSummary.COLUMNS));
+            writer.newLine();
+            for (Map<String, String> result : results) {
+                StringBuilder line = new StringBuilder(String.join(",", result.get("broker"), result.get("datacenters"),
+                        result.get("vms"), result.get("cloudlets")));
+                for (String column : MetricsSummary.COLUMNS) {
+                    line.append(',').append(result.get(column));
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+        Log.printLine("Results written to " + output);
+    }
 
-                Log.printLine("Sending them to broker...");
+    /**
+     * Runs a single broker in its own CloudSim instance and records its result
+     * @param config  the options of the run besides its sizes: seed, workload or trace, metrics file and broker settings
+     */
+    private static void runBroker(BrokerType type, Scenario scenario, SimulationConfig config) throws IOException {
+        Calendar calendar = Calendar.getInstance();
+        CloudSim.init(scenario.getNumUsers(), calendar, true);
 
-                broker.submitVmList(vmList);
-                broker.submitCloudletList(cloudletList);
+        String trace = config.getTrace();
+        DatacenterBroker broker = null;
+        try {
+            broker = config.createBroker(type, type.getBrokerName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
 
-                Log.printLine();
-                Log.printLine("Starts the simulation");
+        TopologyBuilder topology = config.createTopology();
+        topology.createDatacenters(scenario.getNumberOfDatacenters());
 
-                CloudSim.startSimulation();
+        assert broker != null;
+        int brokerId = broker.getId();
+        String brokerName = broker.getName();
 
-                Log.printLine();
-                Log.printLine("Results when simulation is over");
+        Log.printLine("Broker: " + brokerName);
+        Log.printLine("Create VMs");
 
-                List<Cloudlet> cloudletReceivedList = broker.getCloudletReceivedList();
-                List<Vm> vmsCreatedList = broker.getVmsCreatedList();
+        WorkloadGenerator generator = config.createWorkloadGenerator();
 
-                CloudSim.stopSimulation();
+        List<Vm> vmList = generator != null ? generator.createVms(brokerId, scenario.getNumberOfVm())
+                : createVM(brokerId, scenario.getNumberOfVm());
+        topology.getPlacement().sortForSubmission(vmList);
 
-                printResult(cloudletReceivedList, brokerName);
+        Log.printLine();
+        Log.printLine("Create Cloudlets");
+
+        Log.printLine("Sending them to broker...");
+
+        broker.submitVmList(vmList);
+
+        CloudletFeeder feeder = null;
+        List<Cloudlet> cloudletList = null;
+        if (config.isOnline()) {
+            // cloudlets are released over simulated time, read or generated only when they arrive
+            Iterator<? extends Cloudlet> arrivals;
+            if (trace != null) {
+                arrivals = openTrace(brokerId, trace, scenario.getNumberOfCloudlet(), vmList);
+            } else if (generator != null) {
+                arrivals = generator.cloudlets(brokerId, scenario.getNumberOfCloudlet());
+            } else {
+                arrivals = createCloudlet(brokerId, scenario.getNumberOfCloudlet()).iterator();
+            }
+            feeder = new CloudletFeeder("Feeder", (OnlineDatacenterBroker) broker, arrivals);
+        } else if (trace != null) {
+            cloudletList = createCloudletFromTrace(brokerId, trace, scenario.getNumberOfCloudlet(), vmList);
+        } else if (generator != null) {
+            cloudletList = generator.createCloudlets(brokerId, scenario.getNumberOfCloudlet());
+        } else {
+            cloudletList = createCloudlet(brokerId, scenario.getNumberOfCloudlet());
+        }
+        if (cloudletList != null) {
+            broker.submitCloudletList(cloudletList);
+        }
 
-                Log.printLine();
-                Log.printLine("Simulation Complete");
+        Log.printLine();
+        Log.printLine("Starts the simulation");
+
+        CloudSim.startSimulation();
+
+        Log.printLine();
+        Log.printLine("Results when simulation is over");
+
+        List<Cloudlet> cloudletReceivedList = broker.getCloudletReceivedList();
+
+        CloudSim.stopSimulation();
+
+        long submitted = feeder != null ? feeder.getReleased() : cloudletList.size();
+        printResult(cloudletReceivedList, submitted, broker.getVmList(), brokerName, scenario, config.getMetrics());
+
+        Log.printLine();
+        Log.printLine("Simulation Complete");
+    }
+
+    /**
+     * Runs every broker at the same time, each one in a forked JVM so that the
+     * static state of CloudSim is never shared. The output of each worker is
+     * replayed in broker order, so it reads exactly like a sequential run.
+     */
+    private static void runBrokersInParallel(List<BrokerType> brokers, Scenario scenario, List<String> options) throws Exception {
+        int numberOfWorkers = Math.max(1, Math.min(brokers.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfWorkers);
+
+        List<Future<List<String>>> outputs = new ArrayList<>();
+        try {
+            for (BrokerType broker : brokers) {
+                outputs.add(executor.submit(() -> runWorkerProcess(broker, scenario, options)));
             }
 
-            String leftAlignFormat = "| %-39s | %-15s | %-15s |%n";
+            for (Future<List<String>> output : outputs) {
+                for (String line : output.get()) {
+                    if (line.startsWith(RESULT_PREFIX)) {
+                        String[] fields = line.substring(RESULT_PREFIX.length()).split("\\t");
+
+                        Map<String, String> result = new HashMap<>();
+                        result.put("broker", fields[0]);
+                        for (int i = 1; i < fields.length; i++) {
+                            int equals = fields[i].indexOf('=');
+                            result.put(fields[i].substring(0, equals), fields[i].substring(equals + 1));
+                        }
+
+                        results.add(result);
+                    } else {
+                        System.out.println(line);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            System.out.format("+-----------------------------------------+-----------------+-----------------+%n");
-            System.out.format("| Broker                                  | Total CPU Time  | Average CPU Time|%n");
-            System.out.format("+-----------------------------------------+-----------------+-----------------+%n");
-            for (Map<String, String> result: results) {
-                System.out.format(leftAlignFormat, result.get("broker"), result.get("total_cpu_time"), result.get("average_cpu_time"));
+    /**
+     * Forks a JVM running a single broker and collects everything it prints
+     * @param options  the command-line options of this run, parsed again by the worker
+     * @return lines printed by the worker, including its result line
+     */
+    private static List<String> runWorkerProcess(BrokerType broker, Scenario scenario, List<String> options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadBalancerComparison.class.getName());
+        command.add(WORKER_FLAG);
+        command.add(broker.name());
+        command.add(String.valueOf(scenario.getNumUsers()));
+        command.add(String.valueOf(scenario.getNumberOfDatacenters()));
+        command.add(String.valueOf(scenario.getNumberOfVm()));
+        command.add(String.valueOf(scenario.getNumberOfCloudlet()));
+        command.addAll(options);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
             }
-            System.out.format("+-----------------------------------------+-----------------+-----------------+%n");
         }
-        catch (Exception e)
-        {
-            e.printStackTrace();
-            Log.printLine("The simulation has been terminated due to an unexpected error");
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Worker for " + broker.getBrokerName() + " exited with code " + exitCode);
         }
+
+        return lines;
     }
 
-    private static Datacenter createDatacenter(String name){
-
-        // Here are the steps needed to create a PowerDatacenter:
-        // 1. We need to create a list to store one or more
-        //    Machines
-        List<Host> hostList = new ArrayList<>();
-
-        // 2. A Machine contains one or more PEs or CPUs/Cores. Therefore, should
-        //    create a list to store these PEs before creating
-        //    a Machine.
-        List<Pe> peList1 = new ArrayList<>();
-
-        int mips = 10000;
-
-        // 3. Create PEs and add these into the list.
-        //for a quad-core machine, a list of 4 PEs is required:
-        peList1.add(new Pe(0, new PeProvisionerSimple(mips + 500))); // need to store Pe id and MIPS Rating
-        peList1.add(new Pe(1, new PeProvisionerSimple(mips + 1000)));
-        peList1.add(new Pe(2, new PeProvisionerSimple(mips + 1500)));
-        peList1.add(new Pe(3, new PeProvisionerSimple(mips + 700)));
-
-        //Another list, for a dual-core machine
-        List<Pe> peList2 = new ArrayList<>();
-
-        peList2.add(new Pe(0, new PeProvisionerSimple(mips + 700)));
-        peList2.add(new Pe(1, new PeProvisionerSimple(mips + 900)));
-
-        //4. Create Hosts with its id and list of PEs and add them to the list of machines
-        int hostId=0;
-        int ram = 1002048; //host memory (MB)
-        long storage = 1000000; //host storage
-        int bw = 10000;
-
-        hostList.add(
-                new Host(
-                        hostId,
-                        new RamProvisionerSimple(ram),
-                        new BwProvisionerSimple(bw),
-                        storage,
-                        peList1,
-                        new VmSchedulerTimeShared(peList1)
-                )
-        ); // This is our first machine
-
-        hostId++;
-
-        hostList.add(
-                new Host(
-                        hostId,
-                        new RamProvisionerSimple(ram),
-                        new BwProvisionerSimple(bw),
-                        storage,
-                        peList2,
-                        new VmSchedulerTimeShared(peList2)
-                )
-        ); // Second machine
-
-
-        //To create a host with a space-shared allocation policy for PEs to VMs:
-        //hostList.add(
-        //		new Host(
-        //			hostId,
-        //			new CpuProvisionerSimple(peList1),
-        //			new RamProvisionerSimple(ram),
-        //			new BwProvisionerSimple(bw),
-        //			storage,
-        //			new VmSchedulerSpaceShared(peList1)
-        //		)
-        //	);
-
-        //To create a host with an opportunistic space-shared allocation policy for PEs to VMs:
-        //hostList.add(
-        //		new Host(
-        //			hostId,
-        //			new CpuProvisionerSimple(peList1),
-        //			new RamProvisionerSimple(ram),
-        //			new BwProvisionerSimple(bw),
-        //			storage,
-        //			new VmSchedulerOpportunisticSpaceShared(peList1)
-        //		)
-        //	);
-
-
-        // 5. Create a DatacenterCharacteristics String that stores the
-        //    properties of a data center: architecture, OS, list of
-        //    Machines, allocation policy: time- or space-shared, time zone
-        //    and its price (G$/Pe time unit).
-        String arch = "x86";      // system architecture
-        String os = "Linux";          // operating system
-        String vmm = "Xen";
-        double time_zone = 10.0;         // time zone this resource located
-        double cost = 3.0;              // the cost of using processing in this resource
-        double costPerMem = 0.05;		// the cost of using memory in this resource
-        double costPerStorage = 0.1;	// the cost of using storage in this resource
-        double costPerBw = 0.1;			// the cost of using bw in this resource
-        LinkedList<Storage> storageList = new LinkedList<>();	//we are not adding SAN devices by now
-
-        DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
-                arch, os, vmm, hostList, time_zone, cost, costPerMem, costPerStorage, costPerBw);
-
-
-        // 6. Finally, we need to create a PowerDatacenter String.
-        Datacenter datacenter = null;
+    /**
+     * Entry point of a forked worker: runs one broker and prints its result line
+     * @param args  --worker broker numUsers numberOfDatacenters numberOfVm numberOfCloudlet [options of the run]
+     */
+    private static void runWorker(String[] args) {
         try {
-            datacenter = new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList), storageList, 0);
-        } catch (Exception e) {
+            Scenario scenario = new Scenario(Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                    Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+            String[] options = Arrays.copyOfRange(args, 6, args.length);
+            SimulationConfig config = SimulationConfig.isHeadless(options) ? SimulationConfig.parse(options) : new SimulationConfig();
+
+            runBroker(BrokerType.valueOf(args[1]), scenario, config);
+
+            for (Map<String, String> result : results) {
+                StringBuilder line = new StringBuilder(RESULT_PREFIX).append(result.get("broker"));
+                for (String column : MetricsSummary.COLUMNS) {
+                    line.append('\t').append(column).append('=').append(result.get(column));
+                }
+                System.out.println(line);
+            }
+        }
+        catch (Exception e)
+        {
             e.printStackTrace();
+            Log.printLine("The simulation has been terminated due to an unexpected error");
+            System.exit(1);
         }
-
-        return datacenter;
     }
 
     /**
-     * Prints the Cloudlet Strings
+     * Prints the summary of a run, records it in the results and streams every cloudlet to the metrics file
      * @param list  list of Cloudlets
+     * @param submitted  number of cloudlets handed to the broker, including those that never came back
+     * @param vms  VMs of the broker
+     * @param metrics  file every cloudlet is recorded in, suffixed with the broker and the scenario, or null
      */
-    private static void printResult(List<Cloudlet> list, String broker) {
+    private static void printResult(List<Cloudlet> list, long submitted, List<Vm> vms, String broker, Scenario scenario, String metrics) throws IOException {
 
         Log.printLine();
         Log.printLine();
         Log.printLine("========================================== OUTPUT ==========================================");
         Log.printLine("Broker: " + broker);
-        
-        double time = 0;
 
-        for (Cloudlet value : list) {
-            if (value.getCloudletStatus() == Cloudlet.SUCCESS) {
-                time += value.getActualCPUTime();
+        MetricsSummary summary = new MetricsSummary(vms, submitted);
+        try (CloudletMetricsWriter writer = metrics != null ? new CloudletMetricsWriter(metricsPath(metrics, broker, scenario)) : null) {
+            for (Cloudlet value : list) {
+                summary.record(value);
+                if (writer != null) {
+                    writer.write(broker, scenario, value);
+                }
             }
         }
 
-        double avgTime = time/list.toArray().length;
-        Log.printLine("Total CPU Time: " + time);
-        Log.printLine("Average CPU Time: " + avgTime);
+        Log.printLine("Total CPU Time: " + summary.getTotalCpuTime());
+        Log.printLine("Average CPU Time: " + summary.getAverageCpuTime());
+        Log.printLine(summary);
 
-        Map<String, String> result = new HashMap<>();
+        Map<String, String> result = new HashMap<>(summary.toMap());
         result.put("broker", broker);
-        result.put("total_cpu_time", String.format("%.5f", time));
-        result.put("average_cpu_time", String.format("%.5f", avgTime));
 
         results.add(result);
     }
 
+    /**
+     * Every broker gets its own metrics file per scenario, so that the parallel workers never write to the
+     * same one and every file holds a single run
+     * @return results.csv becomes results-RoundRobinDatacenterBroker-1u-2dc-10vm-500cl.csv
+     */
+    private static Path metricsPath(String metrics, String broker, Scenario scenario) {
+        Path path = Paths.get(metrics);
+        String name = path.getFileName().toString();
+        String suffix = "-" + broker + "-" + scenario.toFileName();
+        int dot = name.lastIndexOf('.');
+        String suffixed = dot > 0 ? name.substring(0, dot) + suffix + name.substring(dot) : name + suffix;
+        return path.resolveSibling(suffixed);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package MaxMin;
+
+import MinMin.CompletionTimeMatrix;
+import MinMin.MinMinDatacenterBroker;
+
+/**
+ * A Broker that binds the batch with the Max-Min heuristic: among the
+ * cloudlets left, the one whose earliest completion is the latest goes to the
+ * VM that completes it the earliest. Long cloudlets are placed first, each on
+ * its best VM, and the short ones fill the gaps, which keeps the makespan low
+ * when a few long cloudlets dominate the batch.
+ * <p>
+ * Online, every arriving cloudlet goes to the VM expected to complete it the
+ * earliest, as with Min-Min.
+ */
+public class MaxMinDatacenterBroker extends MinMinDatacenterBroker {
+
+    public MaxMinDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    @Override
+    protected int[] getSchedulingOrder(CompletionTimeMatrix matrix) {
+        return matrix.getCloudletsByWorkDescending();
+    }
+}
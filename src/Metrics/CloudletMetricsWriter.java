@@ -0,0 +1,126 @@
+package Metrics;
+
+import Simulation.Scenario;
+import org.cloudbus.cloudsim.Cloudlet;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams one record per cloudlet to a file, as CSV or JSON Lines. Records are
+ * encoded into a reused direct buffer and handed to a file channel once it
+ * fills up, so nothing is kept per cloudlet and no String.format is involved.
+ */
+public class CloudletMetricsWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final String[] COLUMNS = {
+            "broker", "datacenters", "vms", "cloudlets", "cloudlet_id", "status", "datacenter_id", "vm_id",
+            "submission_time", "wait_time", "start_time", "finish_time", "response_time", "cpu_time"};
+
+    private final FileChannel channel;
+    private final MetricsFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder(256);
+
+    /**
+     * Opens the file, dropping the records an earlier run left in it, and writes the CSV header
+     * @param format  format of the records, see {@link MetricsFormat#fromPath(Path)}
+     */
+    public CloudletMetricsWriter(Path path, MetricsFormat format) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.format = format;
+
+        if (format == MetricsFormat.CSV) {
+            line.append(String.join(",", COLUMNS)).append('\n');
+            flushLine();
+        }
+    }
+
+    public CloudletMetricsWriter(Path path) throws IOException {
+        this(path, MetricsFormat.fromPath(path));
+    }
+
+    public void write(String broker, Scenario scenario, Cloudlet cloudlet) throws IOException {
+        double submissionTime = cloudlet.getSubmissionTime();
+        double releaseTime = MetricsSummary.getReleaseTime(cloudlet);
+        double startTime = cloudlet.getExecStartTime();
+        double finishTime = cloudlet.getFinishTime();
+
+        if (format == MetricsFormat.CSV) {
+            line.append(broker).append(',')
+                    .append(scenario.getNumberOfDatacenters()).append(',')
+                    .append(scenario.getNumberOfVm()).append(',')
+                    .append(scenario.getNumberOfCloudlet()).append(',')
+                    .append(cloudlet.getCloudletId()).append(',')
+                    .append(cloudlet.getCloudletStatusString()).append(',')
+                    .append(cloudlet.getResourceId()).append(',')
+                    .append(cloudlet.getVmId()).append(',')
+                    .append(submissionTime).append(',')
+                    .append(cloudlet.getWaitingTime()).append(',')
+                    .append(startTime).append(',')
+                    .append(finishTime).append(',')
+                    .append(finishTime - releaseTime).append(',')
+                    .append(MetricsSummary.getCpuTime(cloudlet)).append('\n');
+        } else {
+            line.append("{\"broker\":\"").append(broker)
+                    .append("\",\"datacenters\":").append(scenario.getNumberOfDatacenters())
+                    .append(",\"vms\":").append(scenario.getNumberOfVm())
+                    .append(",\"cloudlets\":").append(scenario.getNumberOfCloudlet())
+                    .append(",\"cloudlet_id\":").append(cloudlet.getCloudletId())
+                    .append(",\"status\":\"").append(cloudlet.getCloudletStatusString())
+                    .append("\",\"datacenter_id\":").append(cloudlet.getResourceId())
+                    .append(",\"vm_id\":").append(cloudlet.getVmId())
+                    .append(",\"submission_time\":").append(submissionTime)
+                    .append(",\"wait_time\":").append(cloudlet.getWaitingTime())
+                    .append(",\"start_time\":").append(startTime)
+                    .append(",\"finish_time\":").append(finishTime)
+                    .append(",\"response_time\":").append(finishTime - releaseTime)
+                    .append(",\"cpu_time\":").append(MetricsSummary.getCpuTime(cloudlet)).append("}\n");
+        }
+        flushLine();
+    }
+
+    private void flushLine() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        encoder.reset();
+        line.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
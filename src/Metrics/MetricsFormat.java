@@ -0,0 +1,20 @@
+package Metrics;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats of the per-cloudlet records
+ */
+public enum MetricsFormat {
+    CSV,
+    JSON_LINES;
+
+    /**
+     * @return JSON_LINES for .jsonl and .ndjson files, CSV otherwise
+     */
+    public static MetricsFormat fromPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON_LINES : CSV;
+    }
+}
@@ -0,0 +1,222 @@
+package Metrics;
+
+import Workload.TimedCloudlet;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.*;
+
+/**
+ * Summary statistics of one simulation run, accumulated one cloudlet at a time.
+ * Only the response times are kept, in a primitive array, for the percentiles.
+ * <p>
+ * Cloudlets that came back failed, and those submitted that never came back
+ * (lost), never completed: the makespan of a run with any of them is
+ * infinite, and they rank above every completed cloudlet in the percentiles.
+ */
+public class MetricsSummary {
+    /**
+     * Keys of {@link #toMap()}, in order
+     */
+    public static final List<String> COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            "total_cpu_time", "average_cpu_time", "makespan", "throughput",
+            "p50_response_time", "p95_response_time", "p99_response_time", "imbalance_degree", "failed", "lost"));
+
+    private final Map<Integer, Integer> vmIndex = new HashMap<>();
+    private double[] vmLoad;
+
+    private double[] responseTimes = new double[1024];
+    private int completed = 0;
+    private int failed = 0;
+    private final long submitted;
+    private boolean sorted = true;
+
+    private double totalCpuTime = 0;
+    private double firstSubmission = Double.MAX_VALUE;
+    private double lastFinish = 0;
+
+    /**
+     * @param vms        VMs of the broker; those created on a host count towards the imbalance even if they ran nothing
+     * @param submitted  number of cloudlets handed to the broker, whether they came back or not
+     */
+    public MetricsSummary(List<? extends Vm> vms, long submitted) {
+        this.submitted = submitted;
+        vmLoad = new double[Math.max(vms.size(), 1)];
+        for (Vm vm : vms) {
+            if (vm.getHost() != null) {
+                vmIndex.putIfAbsent(vm.getId(), vmIndex.size());
+            }
+        }
+    }
+
+    public void record(Cloudlet cloudlet) {
+        if (cloudlet.getCloudletStatus() != Cloudlet.SUCCESS) {
+            failed++;
+            return;
+        }
+
+        double cpuTime = getCpuTime(cloudlet);
+        double submissionTime = getReleaseTime(cloudlet);
+        double finishTime = cloudlet.getFinishTime();
+
+        totalCpuTime += cpuTime;
+        firstSubmission = Math.min(firstSubmission, submissionTime);
+        lastFinish = Math.max(lastFinish, finishTime);
+
+        Integer index = vmIndex.get(cloudlet.getVmId());
+        if (index == null) {
+            index = vmIndex.size();
+            vmIndex.put(cloudlet.getVmId(), index);
+        }
+        if (index >= vmLoad.length) {
+            vmLoad = Arrays.copyOf(vmLoad, Math.max(vmLoad.length * 2, index + 1));
+        }
+        vmLoad[index] += cpuTime;
+
+        if (completed == responseTimes.length) {
+            responseTimes = Arrays.copyOf(responseTimes, completed * 2);
+        }
+        responseTimes[completed++] = finishTime - submissionTime;
+        sorted = false;
+    }
+
+    /**
+     * @return seconds the cloudlet ran on its VM, as recorded by its datacenter. Unlike
+     *         {@link Cloudlet#getActualCPUTime()}, which runs from its start to its finish, this leaves
+     *         out the time a preemptive scheduler kept it off its PEs.
+     */
+    public static double getCpuTime(Cloudlet cloudlet) {
+        return cloudlet.getActualCPUTime(cloudlet.getResourceId());
+    }
+
+    /**
+     * @return time the cloudlet was handed to an online broker, or else its submission to the datacenter
+     */
+    public static double getReleaseTime(Cloudlet cloudlet) {
+        if (cloudlet instanceof TimedCloudlet && !Double.isNaN(((TimedCloudlet) cloudlet).getReleaseTime())) {
+            return ((TimedCloudlet) cloudlet).getReleaseTime();
+        }
+        return cloudlet.getSubmissionTime();
+    }
+
+    public void recordAll(List<? extends Cloudlet> cloudlets) {
+        for (Cloudlet cloudlet : cloudlets) {
+            record(cloudlet);
+        }
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    /**
+     * @return cloudlets submitted that never came back to the broker
+     */
+    public long getLost() {
+        return Math.max(0, submitted - completed - failed);
+    }
+
+    /**
+     * @return whether every cloudlet submitted completed successfully
+     */
+    public boolean isComplete() {
+        return failed == 0 && getLost() == 0;
+    }
+
+    public double getTotalCpuTime() {
+        return totalCpuTime;
+    }
+
+    public double getAverageCpuTime() {
+        return completed > 0 ? totalCpuTime / completed : 0;
+    }
+
+    /**
+     * @return time from the first release to the last finish, infinite if some cloudlets never completed
+     */
+    public double getMakespan() {
+        return isComplete() ? getCompletedSpan() : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return time from the first release to the last finish of the cloudlets that completed
+     */
+    public double getCompletedSpan() {
+        return completed > 0 ? lastFinish - firstSubmission : 0;
+    }
+
+    /**
+     * @return completed cloudlets per unit of simulated time, until the last one finished
+     */
+    public double getThroughput() {
+        double span = getCompletedSpan();
+        return span > 0 ? completed / span : 0;
+    }
+
+    /**
+     * @param percentile  between 0 and 100
+     * @return response time (finish - release) below which the given percentage of the submitted cloudlets
+     *         completed, infinite if that many never did
+     */
+    public double getResponseTimePercentile(double percentile) {
+        long total = Math.max(submitted, (long) completed + failed);
+        if (total == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(responseTimes, 0, completed);
+            sorted = true;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * total), 1);
+        return rank <= completed ? responseTimes[(int) rank - 1] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return (max - min) / average of the CPU time spent on each VM
+     */
+    public double getImbalanceDegree() {
+        int numberOfVms = Math.max(vmIndex.size(), 1);
+        double max = 0;
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < numberOfVms; i++) {
+            max = Math.max(max, vmLoad[i]);
+            min = Math.min(min, vmLoad[i]);
+        }
+        double average = totalCpuTime / numberOfVms;
+        return average > 0 ? (max - min) / average : 0;
+    }
+
+    /**
+     * @return the statistics keyed by their column names, formatted for the result tables
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("total_cpu_time", String.format("%.5f", getTotalCpuTime()));
+        values.put("average_cpu_time", String.format("%.5f", getAverageCpuTime()));
+        values.put("makespan", String.format("%.5f", getMakespan()));
+        values.put("throughput", String.format("%.5f", getThroughput()));
+        values.put("p50_response_time", String.format("%.5f", getResponseTimePercentile(50)));
+        values.put("p95_response_time", String.format("%.5f", getResponseTimePercentile(95)));
+        values.put("p99_response_time", String.format("%.5f", getResponseTimePercentile(99)));
+        values.put("imbalance_degree", String.format("%.5f", getImbalanceDegree()));
+        values.put("failed", String.valueOf(failed));
+        values.put("lost", String.valueOf(getLost()));
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "completed=" + completed + ", failed=" + failed + ", lost=" + getLost()
+                + String.format(", makespan=%.2f, throughput=%.4f, p50=%.2f, p95=%.2f, p99=%.2f, imbalance=%.4f",
+                getMakespan(), getThroughput(), getResponseTimePercentile(50), getResponseTimePercentile(95),
+                getResponseTimePercentile(99), getImbalanceDegree());
+    }
+}
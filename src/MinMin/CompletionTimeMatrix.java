@@ -0,0 +1,149 @@
+package MinMin;
+
+import GeneticAlgorithm.IndexSort;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Expected completion time of every cloudlet on every VM, as the batch
+ * heuristics see it: the time the VM is ready, plus the work of the cloudlet
+ * (MI over all its PEs) divided by the capacity of the VM (MIPS over all its
+ * PEs). The n x m matrix is the outer product of two flat arrays, work and
+ * 1 / capacity, shifted by the ready time of each column, so it is kept as
+ * those three arrays instead of n * m entries (800 MB for 100k x 1k). Binding
+ * a cloudlet only moves the ready time of one VM, so every later row is
+ * computed against the up to date ready times in O(m). Once the matrix has
+ * enough entries, every row is reduced in parallel, in one chunk of VMs per
+ * worker of the common fork-join pool, no chunk being so small that handing it
+ * over costs more than scanning it.
+ * <p>
+ * Every entry of a row grows with the work of the cloudlet, so the cloudlet
+ * with the smallest minimum completion time is always the one with the least
+ * work and the one with the largest is the one with the most: Min-Min and
+ * Max-Min pick the cloudlets in order of work, without rescanning the rows
+ * they did not pick.
+ */
+public class CompletionTimeMatrix {
+    private static final long PARALLEL_THRESHOLD = 1L << 24;   // cloudlets x VMs from which rows are reduced in parallel
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private final double[] work;
+    private final double[] inverseCapacity;
+    private final double[] ready;
+    private final boolean parallel;
+    private final int chunkSize;     // VMs a task reduces, all of them when rows are reduced sequentially
+
+    /**
+     * @param readyTimes  seconds until each VM is free, e.g. all 0 at the start
+     * @param parallel  whether sorting and reducing large rows run on the common fork-join pool
+     */
+    public CompletionTimeMatrix(List<? extends Cloudlet> cloudlets, List<? extends Vm> vms, double[] readyTimes, boolean parallel) {
+        this.work = new double[cloudlets.size()];
+        for (int i = 0; i < work.length; i++) {
+            Cloudlet cloudlet = cloudlets.get(i);
+            work[i] = (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes();
+        }
+
+        this.inverseCapacity = new double[vms.size()];
+        for (int j = 0; j < inverseCapacity.length; j++) {
+            inverseCapacity[j] = 1 / (vms.get(j).getMips() * vms.get(j).getNumberOfPes());
+        }
+
+        this.ready = readyTimes.clone();
+        this.parallel = parallel;
+
+        int tasks = 1;
+        if (parallel && (long) work.length * ready.length >= PARALLEL_THRESHOLD) {
+            tasks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), ready.length / MIN_CHUNK_SIZE));
+        }
+        this.chunkSize = Math.max(1, (ready.length + tasks - 1) / tasks);
+    }
+
+    public int getNumCloudlets() {
+        return work.length;
+    }
+
+    public int getNumVms() {
+        return ready.length;
+    }
+
+    public double getCompletionTime(int cloudlet, int vm) {
+        return ready[vm] + work[cloudlet] * inverseCapacity[vm];
+    }
+
+    public double getReadyTime(int vm) {
+        return ready[vm];
+    }
+
+    /**
+     * @return the time the last VM is ready
+     */
+    public double getMakespan() {
+        double makespan = 0;
+        for (double time : ready) {
+            makespan = Math.max(makespan, time);
+        }
+        return makespan;
+    }
+
+    /**
+     * @return indices of the cloudlets by work, least first, ties in submission order
+     */
+    public int[] getCloudletsByWork() {
+        return IndexSort.ascending(work, parallel);
+    }
+
+    /**
+     * @return indices of the cloudlets by work, most first, ties in submission order
+     */
+    public int[] getCloudletsByWorkDescending() {
+        return IndexSort.descending(work, parallel);
+    }
+
+    /**
+     * @return the VM that completes the cloudlet the earliest, the first one on ties
+     */
+    public int getBestVm(int cloudlet) {
+        if (chunkSize >= ready.length) {
+            return getBestVm(cloudlet, 0, ready.length);
+        }
+
+        int chunks = (ready.length + chunkSize - 1) / chunkSize;
+        int[] best = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                best[c] = getBestVm(cloudlet, c * chunkSize, Math.min(ready.length, (c + 1) * chunkSize)));
+
+        int vm = best[0];
+        for (int c = 1; c < chunks; c++) {
+            if (getCompletionTime(cloudlet, best[c]) < getCompletionTime(cloudlet, vm)) {
+                vm = best[c];
+            }
+        }
+        return vm;
+    }
+
+    private int getBestVm(int cloudlet, int from, int to) {
+        double w = work[cloudlet];
+        int vm = from;
+        double earliest = ready[from] + w * inverseCapacity[from];
+        for (int j = from + 1; j < to; j++) {
+            double time = ready[j] + w * inverseCapacity[j];
+            if (time < earliest) {
+                earliest = time;
+                vm = j;
+            }
+        }
+        return vm;
+    }
+
+    /**
+     * Binds the cloudlet to the VM, which is then ready once it completes it
+     */
+    public void assign(int cloudlet, int vm) {
+        ready[vm] += work[cloudlet] * inverseCapacity[vm];
+    }
+}
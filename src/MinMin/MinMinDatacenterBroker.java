@@ -0,0 +1,83 @@
+package MinMin;
+
+import Online.OnlineDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Broker that binds the batch with the Min-Min heuristic: among the
+ * cloudlets left, the one that can complete the earliest goes to the VM that
+ * completes it the earliest, until every cloudlet is bound. Short cloudlets
+ * go first and to the VMs that free up first, which keeps the makespan low
+ * when the cloudlets are many and short.
+ * <p>
+ * Online, every arriving cloudlet goes to the VM expected to complete it the
+ * earliest given what it was sent so far, with the same capacity model as the
+ * matrix. Instead of a row of the matrix per arrival, which would cost O(V),
+ * it is found among the earliest free VM of every capacity.
+ */
+public class MinMinDatacenterBroker extends OnlineDatacenterBroker {
+
+    private boolean parallel = true;
+
+    public MinMinDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * @param parallel  whether large batches are sorted and reduced on the common fork-join pool
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * @return the order the cloudlets of the matrix are bound in
+     */
+    protected int[] getSchedulingOrder(CompletionTimeMatrix matrix) {
+        return matrix.getCloudletsByWork();
+    }
+
+    /**
+     * @return the completion time matrix of the cloudlets over the created VMs, as loaded as they are now
+     */
+    protected CompletionTimeMatrix createMatrix(List<? extends Cloudlet> cloudlets) {
+        List<Vm> vms = getOnlineVms();
+        double[] readyTimes = new double[vms.size()];
+        for (int v = 0; v < readyTimes.length; v++) {
+            readyTimes[v] = Math.max(0, getBusyUntil(v) - CloudSim.clock());
+        }
+        return new CompletionTimeMatrix(cloudlets, vms, readyTimes, parallel);
+    }
+
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        return findEarliestCompletionVm(cloudlet);
+    }
+
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (getOnlineVms().isEmpty()) {
+            return;
+        }
+
+        List<Cloudlet> cloudlets = new ArrayList<>(getCloudletList());
+        CompletionTimeMatrix matrix = createMatrix(cloudlets);
+        for (int i : getSchedulingOrder(matrix)) {
+            int v = matrix.getBestVm(i);
+            matrix.assign(i, v);
+            sendToVm(cloudlets.get(i), v);
+        }
+
+        getCloudletList().clear();
+    }
+}
@@ -0,0 +1,113 @@
+package Online;
+
+import Workload.TimedCloudlet;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.SimEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Releases cloudlets to an online broker at their arrival times. Cloudlets are
+ * pulled from the iterator only when the simulation reaches them, so a lazily
+ * generated workload or a trace being read never has to be held in memory.
+ * Cloudlets without an arrival time arrive at the start.
+ */
+public class CloudletFeeder extends SimEntity {
+    private static final int NEXT_ARRIVAL = 42003;
+
+    private final OnlineDatacenterBroker broker;
+    private final Iterator<? extends Cloudlet> cloudlets;
+    private int maxBatchSize = 1024;    // cloudlets sent in one event at most, so an event stays small
+
+    private Cloudlet pending;
+    private long released = 0;
+
+    /**
+     * @param cloudlets  cloudlets in order of arrival; closed once exhausted if it is Closeable
+     */
+    public CloudletFeeder(String name, OnlineDatacenterBroker broker, Iterator<? extends Cloudlet> cloudlets) {
+        super(name);
+        this.broker = broker;
+        this.cloudlets = cloudlets;
+        broker.setOnline(true);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return number of cloudlets released to the broker so far
+     */
+    public long getReleased() {
+        return released;
+    }
+
+    @Override
+    public void startEntity() {
+        Log.printLine(getName() + " is starting...");
+        scheduleNextArrival();
+    }
+
+    @Override
+    public void processEvent(SimEvent ev) {
+        if (ev.getTag() != NEXT_ARRIVAL) {
+            return;
+        }
+
+        List<Cloudlet> batch = new ArrayList<>();
+        batch.add(pending);
+        pending = null;
+        while (batch.size() < maxBatchSize && cloudlets.hasNext()) {
+            Cloudlet cloudlet = cloudlets.next();
+            if (getArrivalTime(cloudlet) > CloudSim.clock()) {
+                pending = cloudlet;
+                break;
+            }
+            batch.add(cloudlet);
+        }
+
+        released += batch.size();
+        sendNow(broker.getId(), OnlineDatacenterBroker.CLOUDLET_ARRIVAL, batch);
+        scheduleNextArrival();
+    }
+
+    private void scheduleNextArrival() {
+        if (pending == null && cloudlets.hasNext()) {
+            pending = cloudlets.next();
+        }
+
+        if (pending != null) {
+            schedule(getId(), Math.max(0, getArrivalTime(pending) - CloudSim.clock()), NEXT_ARRIVAL);
+        } else {
+            sendNow(broker.getId(), OnlineDatacenterBroker.CLOUDLET_ARRIVALS_END);
+            if (cloudlets instanceof Closeable) {
+                try {
+                    ((Closeable) cloudlets).close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static double getArrivalTime(Cloudlet cloudlet) {
+        return cloudlet instanceof TimedCloudlet ? ((TimedCloudlet) cloudlet).getArrivalTime() : 0;
+    }
+
+    @Override
+    public void shutdownEntity() {
+        Log.printLine(getName() + " is shutting down...");
+    }
+}
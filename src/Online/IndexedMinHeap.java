@@ -0,0 +1,132 @@
+package Online;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap over the items 0..n-1, each with a key that can be changed
+ * while the item is in the heap. Keys and positions live in primitive arrays,
+ * so reading the minimum is O(1) and updating a key is O(log n) without boxing.
+ * Ties are broken by the smaller item.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;        // items in heap order
+    private final int[] position;    // position of each item in the heap, -1 when absent
+    private final double[] key;
+    private int size = 0;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    public double getKey(int item) {
+        return key[item];
+    }
+
+    /**
+     * @return the item with the smallest key, left in the heap
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * @return the item with the smallest key, removed from the heap
+     */
+    public int poll() {
+        int item = peek();
+        remove(item);
+        return item;
+    }
+
+    /**
+     * Adds the item, or moves it to its new place if it is already in the heap
+     */
+    public void set(int item, double value) {
+        if (position[item] < 0) {
+            key[item] = value;
+            heap[size] = item;
+            position[item] = size++;
+            siftUp(position[item]);
+        } else {
+            double previous = key[item];
+            key[item] = value;
+            if (value < previous) {
+                siftUp(position[item]);
+            } else {
+                siftDown(position[item]);
+            }
+        }
+    }
+
+    public void remove(int item) {
+        int index = position[item];
+        if (index < 0) {
+            return;
+        }
+        int last = heap[--size];
+        position[item] = -1;
+        if (index < size) {
+            heap[index] = last;
+            position[last] = index;
+            siftUp(index);
+            siftDown(position[last]);
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return key[a] < key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int index) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(item, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            position[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+
+    private void siftDown(int index) {
+        int item = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], item)) {
+                break;
+            }
+            heap[index] = heap[child];
+            position[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = item;
+        position[item] = index;
+    }
+}
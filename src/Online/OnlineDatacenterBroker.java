@@ -0,0 +1,541 @@
+package Online;
+
+import Workload.TimedCloudlet;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEvent;
+
+import java.util.*;
+
+/**
+ * A broker that, besides scheduling a static batch given to submitCloudletList,
+ * can dispatch cloudlets one by one as they arrive over simulated time, e.g.
+ * from a {@link CloudletFeeder}. In online mode every arriving cloudlet is
+ * either sent at once to the VM chosen by {@link #selectVm(Cloudlet)}, or held
+ * in the waiting queue until a VM has free PEs for it. The broker tracks the
+ * free PEs and the expected busy time of every VM as cloudlets are sent and
+ * returned, so each decision works on the live state of the VMs. The VMs are
+ * also kept in a heap by the time they are expected to be free, so the
+ * earliest free one is found in O(1) and every send costs O(log V). The VMs of
+ * the same capacity are kept in a heap of their own too: the one of them that
+ * completes a cloudlet the earliest is the one free the earliest, so the VM
+ * completing it the earliest is found in O(C), C being the number of distinct
+ * capacities, a handful of VM types in practice.
+ * <p>
+ * By default waiting cloudlets are served first come, first served, each on
+ * the first VM with enough free PEs.
+ * <p>
+ * With {@link #setWorkStealing(WorkStealing)} the bindings of any policy, batch
+ * or online, stop being final: cloudlets a VM has not started yet can move to a
+ * VM that ran out of work.
+ */
+public abstract class OnlineDatacenterBroker extends DatacenterBroker {
+
+    /**
+     * Cloudlets arriving at the broker, the data being a {@code List<Cloudlet>}
+     */
+    public static final int CLOUDLET_ARRIVAL = 42001;
+
+    /**
+     * No more cloudlets will arrive
+     */
+    public static final int CLOUDLET_ARRIVALS_END = 42002;
+
+    /**
+     * Lets the VMs left without work steal, once the cloudlets submitted together are all queued
+     */
+    private static final int STEAL_WORK = 42004;
+
+    private boolean online = false;
+    private boolean arrivalsEnded = false;
+    private boolean vmsReady = false;
+    private boolean dispatching = false;
+    private boolean tracking = false;   // whether cloudlets went through sendToVm, so their returns free PEs
+
+    private final List<Cloudlet> arrivedEarly = new ArrayList<>();   // arrived before the VMs were created
+    private Queue<Cloudlet> waitingQueue;
+
+    private final Map<Integer, Integer> vmIndex = new HashMap<>();
+    private final List<Vm> onlineVms = new ArrayList<>();
+    private double[] capacity;         // MIPS over all the PEs of the VM
+    private int[] freePes;
+    private double[] busyUntil;        // expected time at which every cloudlet sent to the VM has finished
+    private IndexedMinHeap earliestFreeVm;     // keyed by busyUntil
+    private double[] classCapacity;            // the distinct capacities of the VMs
+    private int[][] classMembers;              // the VMs of each capacity, in index order
+    private IndexedMinHeap[] earliestFreeInClass;  // over the members of the class, keyed by busyUntil
+    private int[] vmClass;
+    private int[] positionInClass;
+    private final ArrayDeque<Integer> vmsWithFreePes = new ArrayDeque<>();
+    private boolean[] listedAsFree;
+
+    private WorkStealing workStealing;
+    private VmBacklogs backlogs;
+    private boolean stealingScheduled = false;
+
+    public OnlineDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * @param online  whether cloudlets arrive with CLOUDLET_ARRIVAL events, in which case the broker only
+     *                finishes once it got CLOUDLET_ARRIVALS_END and every cloudlet has returned
+     */
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    public WorkStealing getWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * @param workStealing  how VMs that run out of work take queued cloudlets from the others, or null
+     *                      to keep every cloudlet on the VM the policy bound it to
+     */
+    public void setWorkStealing(WorkStealing workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    /**
+     * Chooses where an arriving cloudlet goes
+     * @return index of the VM among {@link #getOnlineVms()}, or -1 to put the cloudlet in the waiting queue
+     */
+    protected int selectVm(Cloudlet cloudlet) {
+        return waitingQueue.isEmpty() ? findVmWithFreePes(cloudlet) : -1;
+    }
+
+    /**
+     * @return the queue cloudlets wait in until a VM frees up, its order being the order they are served in
+     */
+    protected Queue<Cloudlet> createWaitingQueue() {
+        return new ArrayDeque<>();
+    }
+
+    /**
+     * Called once the VMs are created and their live state is known, before the first cloudlet is dispatched
+     */
+    protected void onVmsReady() {
+    }
+
+    /**
+     * Called when a cloudlet sent with {@link #sendToVm(Cloudlet, int)} has returned and its PEs are free again
+     */
+    protected void onCloudletReturned(Cloudlet cloudlet, int v) {
+    }
+
+    /**
+     * Called when a cloudlet sent with {@link #sendToVm(Cloudlet, int)} has been stolen by another VM,
+     * after its PEs and expected execution time have moved
+     */
+    protected void onCloudletStolen(Cloudlet cloudlet, int from, int to) {
+    }
+
+    @Override
+    public void processEvent(SimEvent ev) {
+        if (ev.getTag() == STEAL_WORK) {
+            stealingScheduled = false;
+            for (int v = 0; v < onlineVms.size(); v++) {
+                runOrSteal(v);
+            }
+            return;
+        }
+        if (backlogs != null && ev.getTag() == CloudSimTags.CLOUDLET_RETURN) {
+            Cloudlet cloudlet = (Cloudlet) ev.getData();
+            int v = vmIndex.get(cloudlet.getVmId());
+            backlogs.release(cloudlet, v);
+            runOrSteal(v);
+        }
+        super.processEvent(ev);
+    }
+
+    /**
+     * With work stealing every cloudlet a policy submits, whichever way it was bound, is queued for its VM
+     * instead of being sent right away
+     */
+    @Override
+    protected void sendNow(int entityId, int cloudSimTag, Object data) {
+        if (workStealing == null || cloudSimTag != CloudSimTags.CLOUDLET_SUBMIT) {
+            super.sendNow(entityId, cloudSimTag, data);
+            return;
+        }
+
+        if (backlogs == null) {
+            initVmState();
+            backlogs = new VmBacklogs(onlineVms, workStealing);
+        }
+        Cloudlet cloudlet = (Cloudlet) data;
+        if (cloudlet instanceof TimedCloudlet && Double.isNaN(((TimedCloudlet) cloudlet).getReleaseTime())) {
+            // the datacenter only sees it once it leaves the queue, response times must count the wait here too
+            ((TimedCloudlet) cloudlet).setReleaseTime(CloudSim.clock());
+        }
+        int v = vmIndex.get(cloudlet.getVmId());
+        backlogs.add(cloudlet, v);
+        run(v);
+
+        if (!stealingScheduled) {
+            stealingScheduled = true;
+            scheduleNow(getId(), STEAL_WORK);
+        }
+    }
+
+    /**
+     * A cloudlet asking for more PEs than its VM has would never start on it, so it is narrowed
+     * to the PEs of the VM, its length growing to keep its total work. Policies that bind cloudlets
+     * without {@link #sendToVm(Cloudlet, int)} call it once they have chosen the VM.
+     */
+    protected void narrowToVm(Cloudlet cloudlet, int v) {
+        Vm vm = onlineVms.get(v);
+        if (cloudlet.getNumberOfPes() <= vm.getNumberOfPes()) {
+            return;
+        }
+        Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloudlet " + cloudlet.getCloudletId() + " narrowed from "
+                + cloudlet.getNumberOfPes() + " to " + vm.getNumberOfPes() + " PEs to fit VM #" + vm.getId());
+        long totalLength = cloudlet.getCloudletLength() * cloudlet.getNumberOfPes();
+        cloudlet.setCloudletLength(Math.max(1, totalLength / vm.getNumberOfPes()));
+        cloudlet.setNumberOfPes(vm.getNumberOfPes());
+    }
+
+    /**
+     * Sends the queued cloudlets of the VM that fit on its free PEs
+     */
+    private void run(int v) {
+        Cloudlet cloudlet;
+        while ((cloudlet = backlogs.pollRunnable(v)) != null) {
+            super.sendNow(getVmsToDatacentersMap().get(cloudlet.getVmId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+        }
+    }
+
+    private void runOrSteal(int v) {
+        run(v);
+        if (!backlogs.isIdle(v)) {
+            return;
+        }
+
+        int victim = backlogs.findVictim(v);
+        if (victim < 0) {
+            return;
+        }
+        for (Cloudlet cloudlet : backlogs.steal(victim, v)) {
+            Log.printLine(CloudSim.clock() + ": " + getName() + ": VM #" + onlineVms.get(v).getId() + " steals cloudlet "
+                    + cloudlet.getCloudletId() + " from VM #" + onlineVms.get(victim).getId());
+            if (tracking) {
+                moveBooking(cloudlet, victim, v);
+            }
+        }
+        run(v);
+    }
+
+    /**
+     * Moves the PEs and expected execution time booked by sendToVm for a stolen cloudlet
+     */
+    private void moveBooking(Cloudlet cloudlet, int from, int to) {
+        freePes[from] += cloudlet.getNumberOfPes();
+        if (!listedAsFree[from]) {
+            listedAsFree[from] = true;
+            vmsWithFreePes.add(from);
+        }
+        freePes[to] -= cloudlet.getNumberOfPes();
+
+        double now = CloudSim.clock();
+        setBusyUntil(from, Math.max(now, busyUntil[from] - getExpectedExecutionTime(cloudlet, from)));
+        setBusyUntil(to, Math.max(busyUntil[to], now) + getExpectedExecutionTime(cloudlet, to));
+        onCloudletStolen(cloudlet, from, to);
+    }
+
+    @Override
+    protected void processVmCreate(SimEvent ev) {
+        super.processVmCreate(ev);
+
+        if (online && !dispatching && !getVmsCreatedList().isEmpty() && getVmsAcks() == getVmsRequested()) {
+            initVmState();
+            dispatching = true;
+
+            for (Cloudlet cloudlet : arrivedEarly) {
+                dispatch(cloudlet);
+            }
+            arrivedEarly.clear();
+            finishIfDone();
+        }
+    }
+
+    /**
+     * Prepares the live state of the created VMs, so batch schedules can be sent with
+     * {@link #sendToVm(Cloudlet, int)} too. The cloudlets left to CloudSim are narrowed to the VM
+     * it sends them to: the one they are bound to, or for unbound ones the next VM in turn.
+     */
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (!onlineVms.isEmpty()) {
+            int next = 0;
+            for (Cloudlet cloudlet : getCloudletList()) {
+                Integer v = cloudlet.getVmId() == -1 ? Integer.valueOf(next) : vmIndex.get(cloudlet.getVmId());
+                if (v == null) {
+                    continue;   // CloudSim postpones it until its VM exists
+                }
+                narrowToVm(cloudlet, v);
+                next = (next + 1) % onlineVms.size();
+            }
+        }
+        super.submitCloudlets();
+    }
+
+    /**
+     * Records the created VMs and their free PEs, once
+     */
+    protected void initVmState() {
+        if (vmsReady) {
+            return;
+        }
+        onlineVms.addAll(getVmsCreatedList());
+        int numberOfVms = onlineVms.size();
+        capacity = new double[numberOfVms];
+        freePes = new int[numberOfVms];
+        busyUntil = new double[numberOfVms];
+        listedAsFree = new boolean[numberOfVms];
+        earliestFreeVm = new IndexedMinHeap(numberOfVms);
+
+        for (int v = 0; v < numberOfVms; v++) {
+            Vm vm = onlineVms.get(v);
+            vmIndex.put(vm.getId(), v);
+            capacity[v] = vm.getMips() * vm.getNumberOfPes();
+            freePes[v] = vm.getNumberOfPes();
+            vmsWithFreePes.add(v);
+            listedAsFree[v] = true;
+        }
+        initCapacityClasses();
+        for (int v = 0; v < numberOfVms; v++) {
+            setBusyUntil(v, CloudSim.clock());
+        }
+
+        waitingQueue = createWaitingQueue();
+        vmsReady = true;
+        onVmsReady();
+    }
+
+    /**
+     * Groups the VMs by capacity, each group with its own heap by the time its VMs are free
+     */
+    private void initCapacityClasses() {
+        Map<Double, List<Integer>> byCapacity = new LinkedHashMap<>();
+        for (int v = 0; v < capacity.length; v++) {
+            byCapacity.computeIfAbsent(capacity[v], c -> new ArrayList<>()).add(v);
+        }
+
+        int classes = byCapacity.size();
+        classCapacity = new double[classes];
+        classMembers = new int[classes][];
+        earliestFreeInClass = new IndexedMinHeap[classes];
+        vmClass = new int[capacity.length];
+        positionInClass = new int[capacity.length];
+
+        int k = 0;
+        for (Map.Entry<Double, List<Integer>> entry : byCapacity.entrySet()) {
+            List<Integer> members = entry.getValue();
+            classCapacity[k] = entry.getKey();
+            classMembers[k] = new int[members.size()];
+            earliestFreeInClass[k] = new IndexedMinHeap(members.size());
+            for (int i = 0; i < members.size(); i++) {
+                int v = members.get(i);
+                classMembers[k][i] = v;
+                vmClass[v] = k;
+                positionInClass[v] = i;
+            }
+            k++;
+        }
+    }
+
+    private void setBusyUntil(int v, double time) {
+        busyUntil[v] = time;
+        earliestFreeVm.set(v, time);
+        earliestFreeInClass[vmClass[v]].set(positionInClass[v], time);
+    }
+
+    @Override
+    protected void processOtherEvent(SimEvent ev) {
+        switch (ev.getTag()) {
+            case CLOUDLET_ARRIVAL:
+                @SuppressWarnings("unchecked")
+                List<Cloudlet> arrivals = (List<Cloudlet>) ev.getData();
+                for (Cloudlet cloudlet : arrivals) {
+                    if (cloudlet instanceof TimedCloudlet) {
+                        ((TimedCloudlet) cloudlet).setReleaseTime(CloudSim.clock());
+                    }
+                    if (dispatching) {
+                        dispatch(cloudlet);
+                    } else {
+                        arrivedEarly.add(cloudlet);
+                    }
+                }
+                break;
+            case CLOUDLET_ARRIVALS_END:
+                arrivalsEnded = true;
+                finishIfDone();
+                break;
+            default:
+                super.processOtherEvent(ev);
+                break;
+        }
+    }
+
+    private void dispatch(Cloudlet cloudlet) {
+        int v = selectVm(cloudlet);
+        if (v >= 0) {
+            sendToVm(cloudlet, v);
+        } else {
+            waitingQueue.add(cloudlet);
+        }
+    }
+
+    /**
+     * Sends the cloudlet to the VM and books its PEs and expected execution time
+     */
+    protected void sendToVm(Cloudlet cloudlet, int v) {
+        Vm vm = onlineVms.get(v);
+        cloudlet.setVmId(vm.getId());
+        narrowToVm(cloudlet, v);
+        tracking = true;
+
+        freePes[v] -= cloudlet.getNumberOfPes();
+        setBusyUntil(v, Math.max(busyUntil[v], CloudSim.clock()) + getExpectedExecutionTime(cloudlet, v));
+
+        Log.printLine(CloudSim.clock() + ": " + getName() + ": Sending cloudlet " + cloudlet.getCloudletId()
+                + " to VM #" + vm.getId());
+        sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+        cloudletsSubmitted++;
+        getCloudletSubmittedList().add(cloudlet);
+    }
+
+    @Override
+    protected void processCloudletReturn(SimEvent ev) {
+        Cloudlet cloudlet = (Cloudlet) ev.getData();
+
+        Integer v = tracking ? vmIndex.get(cloudlet.getVmId()) : null;
+        if (v != null) {
+            freePes[v] += cloudlet.getNumberOfPes();
+            if (!listedAsFree[v]) {
+                listedAsFree[v] = true;
+                vmsWithFreePes.add(v);
+            }
+            onCloudletReturned(cloudlet, v);
+            serveWaiting(v);
+        }
+
+        if (!online) {
+            super.processCloudletReturn(ev);
+            return;
+        }
+
+        getCloudletReceivedList().add(cloudlet);
+        Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloudlet " + cloudlet.getCloudletId() + " received");
+        cloudletsSubmitted--;
+
+        finishIfDone();
+    }
+
+    /**
+     * Hands waiting cloudlets, in queue order, to a VM that just freed up for as long as they fit on it.
+     * Batch schedules that leave cloudlets in the waiting queue are served the same way.
+     */
+    protected void serveWaiting(int v) {
+        while (!waitingQueue.isEmpty() && waitingQueue.peek().getNumberOfPes() <= freePes[v]) {
+            sendToVm(waitingQueue.poll(), v);
+        }
+    }
+
+    private void finishIfDone() {
+        if (arrivalsEnded && dispatching && cloudletsSubmitted == 0 && waitingQueue.isEmpty()) {
+            Log.printLine(CloudSim.clock() + ": " + getName() + ": All Cloudlets executed. Finishing...");
+            clearDatacenters();
+            finishExecution();
+        }
+    }
+
+    /**
+     * @return index of a VM with enough free PEs for the cloudlet, or -1 if every VM is busy. O(1)
+     *         for single-PE cloudlets: VMs that are found full on the way are dropped from the free list.
+     */
+    protected int findVmWithFreePes(Cloudlet cloudlet) {
+        Iterator<Integer> iterator = vmsWithFreePes.iterator();
+        while (iterator.hasNext()) {
+            int v = iterator.next();
+            if (freePes[v] <= 0) {
+                iterator.remove();
+                listedAsFree[v] = false;
+            } else if (freePes[v] >= cloudlet.getNumberOfPes()) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return index of the VM expected to be free the earliest given what it was sent so far, in O(1)
+     */
+    protected int findEarliestFreeVm() {
+        return earliestFreeVm.peek();
+    }
+
+    /**
+     * @return index of the VM expected to complete the cloudlet the earliest given what it was sent so far,
+     *         in O(C) for C distinct VM capacities
+     */
+    protected int findEarliestCompletionVm(Cloudlet cloudlet) {
+        double now = CloudSim.clock();
+        double work = (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes();
+        int best = -1;
+        double earliest = Double.MAX_VALUE;
+        for (int k = 0; k < classCapacity.length; k++) {
+            int v = classMembers[k][earliestFreeInClass[k].peek()];
+            double completion = Math.max(busyUntil[v], now) + work / classCapacity[k];
+            if (completion < earliest || (completion == earliest && v < best)) {
+                earliest = completion;
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return seconds the work of the cloudlet (MI over all its PEs) takes out of the capacity of the VM
+     *         (MIPS over all its PEs), the model the batch heuristics estimate completion times with too
+     */
+    protected double getExpectedExecutionTime(Cloudlet cloudlet, int v) {
+        return (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes() / capacity[v];
+    }
+
+    /**
+     * @return VMs the cloudlets are dispatched to, in index order
+     */
+    protected List<Vm> getOnlineVms() {
+        return onlineVms;
+    }
+
+    /**
+     * @return index of the VM among {@link #getOnlineVms()}, or null if it was not created
+     */
+    protected Integer getVmIndex(int vmId) {
+        return vmIndex.get(vmId);
+    }
+
+    protected int getFreePes(int v) {
+        return freePes[v];
+    }
+
+    protected double getBusyUntil(int v) {
+        return busyUntil[v];
+    }
+
+    protected Queue<Cloudlet> getWaitingQueue() {
+        return waitingQueue;
+    }
+}
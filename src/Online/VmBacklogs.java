@@ -0,0 +1,113 @@
+package Online;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The cloudlets bound to each VM that it has not started yet, for
+ * {@link WorkStealing}. The VMs are kept in a heap by the length of their
+ * queue, so the most backlogged one is found in O(1) and every change costs
+ * O(log V).
+ */
+class VmBacklogs {
+    private final WorkStealing settings;
+    private final List<Vm> vms;
+    private final List<ArrayDeque<Cloudlet>> queued;
+    private final double[] queuedWork;     // MI of the queued cloudlets over all their PEs
+    private final int[] idlePes;
+    private final IndexedMinHeap longestQueue;     // keyed by minus the queue length
+
+    VmBacklogs(List<Vm> vms, WorkStealing settings) {
+        this.settings = settings;
+        this.vms = vms;
+        queued = new ArrayList<>(vms.size());
+        queuedWork = new double[vms.size()];
+        idlePes = new int[vms.size()];
+        longestQueue = new IndexedMinHeap(vms.size());
+
+        for (int v = 0; v < vms.size(); v++) {
+            queued.add(new ArrayDeque<>());
+            idlePes[v] = vms.get(v).getNumberOfPes();
+            longestQueue.set(v, 0);
+        }
+    }
+
+    void add(Cloudlet cloudlet, int v) {
+        queued.get(v).add(cloudlet);
+        queuedWork[v] += getWork(cloudlet);
+        longestQueue.set(v, -queued.get(v).size());
+    }
+
+    /**
+     * @return the next cloudlet of the VM if its PEs are free for it, which are then booked, or null
+     */
+    Cloudlet pollRunnable(int v) {
+        Cloudlet cloudlet = queued.get(v).peek();
+        if (cloudlet == null || cloudlet.getNumberOfPes() > idlePes[v]) {
+            return null;
+        }
+        queued.get(v).poll();
+        queuedWork[v] -= getWork(cloudlet);
+        idlePes[v] -= cloudlet.getNumberOfPes();
+        longestQueue.set(v, -queued.get(v).size());
+        return cloudlet;
+    }
+
+    void release(Cloudlet cloudlet, int v) {
+        idlePes[v] += cloudlet.getNumberOfPes();
+    }
+
+    boolean isIdle(int v) {
+        return idlePes[v] > 0 && queued.get(v).isEmpty();
+    }
+
+    /**
+     * @return the VM with the longest queue if it reaches the threshold, or -1
+     */
+    int findVictim(int thief) {
+        int victim = longestQueue.peek();
+        return victim != thief && queued.get(victim).size() >= settings.getThreshold() ? victim : -1;
+    }
+
+    /**
+     * Moves cloudlets from the back of the queue of the victim to the thief, in their queue order
+     * @return the cloudlets moved, with their VM already changed
+     */
+    List<Cloudlet> steal(int victim, int thief) {
+        List<Cloudlet> stolen = new ArrayList<>();
+
+        Vm from = vms.get(victim);
+        Vm to = vms.get(thief);
+        int count = Math.min(settings.getBatchSize(), Math.max(1, queued.get(victim).size() / 2));
+        while (stolen.size() < count) {
+            Cloudlet cloudlet = queued.get(victim).peekLast();
+            double work = getWork(cloudlet);
+            // when the cloudlet would start where it is, given the work queued ahead of it
+            double startThere = (queuedWork[victim] - work) / (from.getMips() * from.getNumberOfPes());
+            double finishHere = cloudlet.getCloudletLength() / to.getMips();
+            if (cloudlet.getNumberOfPes() > to.getNumberOfPes() || finishHere >= startThere) {
+                break;
+            }
+            queued.get(victim).pollLast();
+            queuedWork[victim] -= work;
+            stolen.add(cloudlet);
+        }
+        longestQueue.set(victim, -queued.get(victim).size());
+
+        Collections.reverse(stolen);
+        for (Cloudlet cloudlet : stolen) {
+            cloudlet.setVmId(to.getId());
+            add(cloudlet, thief);
+        }
+        return stolen;
+    }
+
+    private static double getWork(Cloudlet cloudlet) {
+        return (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes();
+    }
+}
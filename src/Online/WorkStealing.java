@@ -0,0 +1,44 @@
+package Online;
+
+/**
+ * Settings of the work stealing of an {@link OnlineDatacenterBroker}. With
+ * work stealing the broker keeps the cloudlets bound to a VM in a queue of
+ * its own and sends them to the VM only as its PEs free up. A VM left with
+ * free PEs and nothing queued takes cloudlets from the back of the longest
+ * queue, as long as they finish sooner on it than they would start where
+ * they are.
+ */
+public class WorkStealing {
+    public static final int DEFAULT_THRESHOLD = 2;
+    public static final int DEFAULT_BATCH_SIZE = 8;
+
+    private final int threshold;
+    private final int batchSize;
+
+    public WorkStealing() {
+        this(DEFAULT_THRESHOLD, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param threshold  cloudlets a VM must have queued before others steal from it
+     * @param batchSize  cloudlets taken in one steal at most, never more than half the queue
+     */
+    public WorkStealing(int threshold, int batchSize) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("The stealing threshold must be at least 1: " + threshold);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The stealing batch size must be at least 1: " + batchSize);
+        }
+        this.threshold = threshold;
+        this.batchSize = batchSize;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,133 @@
+package ParticleSwarm;
+
+/**
+ * Tunable parameters of the particle swarm optimization. By default 30
+ * particles search until the best makespan stops improving for 40 iterations,
+ * the inertia falling linearly from 0.9 to 0.4 over the iteration budget.
+ */
+public class ParticleSwarmConfig {
+    private int particles = 30;
+    private int iterations = 300;            // upper bound, also the length of the inertia schedule
+    private int stallIterations = 40;        // stop after this many iterations without improvement, 0 to disable
+    private double initialInertia = 0.9;     // weight of the previous velocity in the first iteration
+    private double finalInertia = 0.4;       // and in the last one
+    private double cognitive = 1.5;          // pull towards the best position of the particle itself
+    private double social = 1.5;             // pull towards the best position of the swarm
+    private double maxVelocity = 0.1;        // per iteration, as a share of the number of VMs
+    private double seededFraction = 0.5;     // share of the particles started around the greedy schedule
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long timeBudgetMillis = 0;       // 0 means no wall-clock limit
+    private Long seed = null;                // null means a different search on every run
+
+    public int getParticles() {
+        return particles;
+    }
+
+    public void setParticles(int particles) {
+        this.particles = particles;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getStallIterations() {
+        return stallIterations;
+    }
+
+    public void setStallIterations(int stallIterations) {
+        this.stallIterations = stallIterations;
+    }
+
+    public double getInitialInertia() {
+        return initialInertia;
+    }
+
+    public double getFinalInertia() {
+        return finalInertia;
+    }
+
+    /**
+     * Sets the inertia schedule, which moves linearly from the first value to the second over the iterations.
+     * Pass the same value twice for a constant inertia.
+     */
+    public void setInertia(double initialInertia, double finalInertia) {
+        this.initialInertia = initialInertia;
+        this.finalInertia = finalInertia;
+    }
+
+    /**
+     * @return inertia of the given iteration, counted from 0
+     */
+    public double getInertia(int iteration) {
+        if (iterations <= 1) {
+            return initialInertia;
+        }
+        double progress = Math.min(1, (double) iteration / (iterations - 1));
+        return initialInertia + (finalInertia - initialInertia) * progress;
+    }
+
+    public double getCognitive() {
+        return cognitive;
+    }
+
+    public void setCognitive(double cognitive) {
+        this.cognitive = cognitive;
+    }
+
+    public double getSocial() {
+        return social;
+    }
+
+    public void setSocial(double social) {
+        this.social = social;
+    }
+
+    public double getMaxVelocity() {
+        return maxVelocity;
+    }
+
+    public void setMaxVelocity(double maxVelocity) {
+        this.maxVelocity = maxVelocity;
+    }
+
+    public double getSeededFraction() {
+        return seededFraction;
+    }
+
+    /**
+     * @param seededFraction  share of the particles started on the greedy schedule or next to it, the rest
+     *                        start anywhere
+     */
+    public void setSeededFraction(double seededFraction) {
+        this.seededFraction = seededFraction;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,41 @@
+package ParticleSwarm;
+
+import GeneticAlgorithm.ScheduleSearchDatacenterBroker;
+import GeneticAlgorithm.SchedulingProblem;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A Broker that binds the batch with a particle swarm optimization, see
+ * {@link ParticleSwarmEngine}. It searches the whole schedule when the
+ * cloudlets are submitted, and queues them shortest first on the VMs they
+ * are bound to.
+ */
+public class ParticleSwarmDatacenterBroker extends ScheduleSearchDatacenterBroker {
+
+    private ParticleSwarmConfig config = new ParticleSwarmConfig();
+
+    public ParticleSwarmDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    public ParticleSwarmDatacenterBroker(String name, ParticleSwarmConfig config) throws Exception {
+        super(name);
+        this.config = config;
+    }
+
+    public ParticleSwarmConfig getConfig() {
+        return config;
+    }
+
+    public void setConfig(ParticleSwarmConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    protected IntUnaryOperator search(SchedulingProblem problem) {
+        int[] best = new ParticleSwarmEngine(problem, config).run();
+        return i -> best[i];
+    }
+
+}
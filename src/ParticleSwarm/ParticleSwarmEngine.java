@@ -0,0 +1,269 @@
+package ParticleSwarm;
+
+import GeneticAlgorithm.SchedulingProblem;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Searches a schedule for a {@link SchedulingProblem} with a particle swarm.
+ * A particle is a point in [0, m)^n, n being the number of cloudlets and m the
+ * number of VMs, and decodes to the schedule binding cloudlet i to VM
+ * floor(x[i]), the VMs being ranked fastest first.
+ * <p>
+ * Positions, velocities and personal bests are flat double arrays, particle p
+ * owning the slice [p * n, (p + 1) * n). The random factors of a particle are
+ * drawn into buffers first, so its update is a branch-free loop over primitive
+ * arrays that the JIT can vectorise. The buffers belong to the thread moving
+ * the particle and are reused for every particle it moves, so an iteration
+ * allocates nothing per cloudlet. Each particle is moved and evaluated as a
+ * separate task, an iteration costing O(n) per particle.
+ */
+public class ParticleSwarmEngine {
+    private final SchedulingProblem problem;
+    private final ParticleSwarmConfig config;
+
+    private final int numCloudlets;
+    private final int numVms;
+    private final int numParticles;
+    private final double[] work;
+    private final double[] inverseCapacity;
+
+    private final double[] positions;
+    private final double[] velocities;
+    private final double[] personalBests;
+    private final double[] personalBestMakespans;
+    private final double[] globalBest;
+    private double globalBestMakespan = Double.MAX_VALUE;
+
+    private final ThreadLocal<Scratch> scratch;
+
+    public ParticleSwarmEngine(SchedulingProblem problem, ParticleSwarmConfig config) {
+        this.problem = problem;
+        this.config = config;
+        this.numCloudlets = problem.getNumCloudlets();
+        this.numVms = problem.getNumVms();
+        this.numParticles = Math.max(1, config.getParticles());
+
+        this.work = new double[numCloudlets];
+        for (int i = 0; i < numCloudlets; i++) {
+            work[i] = problem.getCloudletWork(i);
+        }
+        this.inverseCapacity = new double[numVms];
+        for (int k = 0; k < numVms; k++) {
+            inverseCapacity[k] = 1 / problem.getVmCapacity(k);
+        }
+
+        int size;
+        try {
+            size = Math.multiplyExact(numParticles, numCloudlets);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("A swarm of " + numParticles + " particles over " + numCloudlets
+                    + " cloudlets has more coordinates than an array can hold, use fewer particles");
+        }
+        this.positions = new double[size];
+        this.velocities = new double[size];
+        this.personalBests = new double[size];
+        this.personalBestMakespans = new double[numParticles];
+        this.globalBest = new double[numCloudlets];
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(numCloudlets, numVms));
+    }
+
+    /**
+     * Buffers a thread reuses for every particle it moves
+     */
+    private static final class Scratch {
+        final double[] r1;
+        final double[] r2;
+        final double[] ready;
+
+        Scratch(int numCloudlets, int numVms) {
+            r1 = new double[numCloudlets];
+            r2 = new double[numCloudlets];
+            ready = new double[numVms];
+        }
+    }
+
+    /**
+     * @return VM index (k-th fastest VM of the problem) chosen for every cloudlet by the best position found
+     */
+    public int[] run() {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, config.getThreads()));
+        try {
+            return pool.submit(this::search).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Particle swarm optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Particle swarm optimization failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private int[] search() {
+        long deadline = config.getTimeBudgetMillis() > 0
+                ? System.currentTimeMillis() + config.getTimeBudgetMillis()
+                : Long.MAX_VALUE;
+        Random random = config.getSeed() != null ? new Random(config.getSeed()) : new Random();
+
+        double[] greedy = greedyPosition();
+        long[] seeds = nextSeeds(random);
+        IntStream.range(0, numParticles).parallel().forEach(p -> initialize(p, greedy, new SplittableRandom(seeds[p])));
+        updateGlobalBest();
+
+        int stalled = 0;
+        for (int iteration = 0; iteration < config.getIterations(); iteration++) {
+            if (System.currentTimeMillis() >= deadline
+                    || (config.getStallIterations() > 0 && stalled >= config.getStallIterations())) {
+                break;
+            }
+
+            double inertia = config.getInertia(iteration);
+            long[] iterationSeeds = nextSeeds(random);
+            IntStream.range(0, numParticles).parallel()
+                    .forEach(p -> move(p, inertia, new SplittableRandom(iterationSeeds[p])));
+
+            stalled = updateGlobalBest() ? 0 : stalled + 1;
+        }
+
+        int[] vms = new int[numCloudlets];
+        for (int i = 0; i < numCloudlets; i++) {
+            vms[i] = (int) globalBest[i];
+        }
+        return vms;
+    }
+
+    private long[] nextSeeds(Random random) {
+        long[] seeds = new long[numParticles];
+        for (int p = 0; p < numParticles; p++) {
+            seeds[p] = random.nextLong();
+        }
+        return seeds;
+    }
+
+    /**
+     * @return the position of the greedy schedule, longest cloudlet first to the VM completing it the earliest
+     */
+    private double[] greedyPosition() {
+        double[] position = new double[numCloudlets];
+        int[] byLength = problem.getCloudletsByLength();
+        double[] ready = new double[numVms];
+        for (int j = numCloudlets - 1; j >= 0; j--) {
+            int i = byLength[j];
+            int chosen = 0;
+            double earliest = Double.MAX_VALUE;
+            for (int k = 0; k < numVms; k++) {
+                double completion = ready[k] + work[i] * inverseCapacity[k];
+                if (completion < earliest) {
+                    earliest = completion;
+                    chosen = k;
+                }
+            }
+            ready[chosen] = earliest;
+            position[i] = chosen + 0.5;
+        }
+        return position;
+    }
+
+    /**
+     * Places the first particle on the greedy schedule, the seeded ones within one VM of it
+     * and the others at random
+     */
+    private void initialize(int p, double[] greedy, SplittableRandom random) {
+        int offset = p * numCloudlets;
+        double maxVelocity = config.getMaxVelocity() * numVms;
+        double upper = Math.nextDown((double) numVms);
+        int seeded = Math.max(1, (int) Math.round(numParticles * config.getSeededFraction()));
+
+        for (int i = 0; i < numCloudlets; i++) {
+            double x;
+            if (p == 0) {
+                x = greedy[i];
+            } else if (p < seeded) {
+                x = greedy[i] + random.nextDouble() * 2 - 1;
+            } else {
+                x = random.nextDouble() * numVms;
+            }
+            positions[offset + i] = Math.max(0, Math.min(upper, x));
+            velocities[offset + i] = (random.nextDouble() * 2 - 1) * maxVelocity;
+        }
+
+        System.arraycopy(positions, offset, personalBests, offset, numCloudlets);
+        personalBestMakespans[p] = evaluate(offset, scratch.get().ready);
+    }
+
+    /**
+     * Moves the particle towards its own best and the best of the swarm, then evaluates it
+     */
+    private void move(int p, double inertia, SplittableRandom random) {
+        int offset = p * numCloudlets;
+        double cognitive = config.getCognitive();
+        double social = config.getSocial();
+        double maxVelocity = config.getMaxVelocity() * numVms;
+        double upper = Math.nextDown((double) numVms);
+
+        Scratch buffers = scratch.get();
+        double[] r1 = buffers.r1;
+        double[] r2 = buffers.r2;
+        for (int i = 0; i < numCloudlets; i++) {
+            r1[i] = random.nextDouble() * cognitive;
+            r2[i] = random.nextDouble() * social;
+        }
+
+        for (int i = 0; i < numCloudlets; i++) {
+            int j = offset + i;
+            double x = positions[j];
+            double v = inertia * velocities[j] + r1[i] * (personalBests[j] - x) + r2[i] * (globalBest[i] - x);
+            v = Math.max(-maxVelocity, Math.min(maxVelocity, v));
+            velocities[j] = v;
+            positions[j] = Math.max(0, Math.min(upper, x + v));
+        }
+
+        double makespan = evaluate(offset, buffers.ready);
+        if (makespan < personalBestMakespans[p]) {
+            personalBestMakespans[p] = makespan;
+            System.arraycopy(positions, offset, personalBests, offset, numCloudlets);
+        }
+    }
+
+    /**
+     * @param ready  buffer of one entry per VM, overwritten
+     * @return makespan of the schedule the particle starting at the offset decodes to
+     */
+    private double evaluate(int offset, double[] ready) {
+        Arrays.fill(ready, 0);
+        for (int i = 0; i < numCloudlets; i++) {
+            int k = (int) positions[offset + i];
+            ready[k] += work[i] * inverseCapacity[k];
+        }
+        double makespan = 0;
+        for (double time : ready) {
+            makespan = Math.max(makespan, time);
+        }
+        return makespan;
+    }
+
+    /**
+     * Copies the best personal best into the global best, the lowest particle winning ties
+     * @return whether the global best improved
+     */
+    private boolean updateGlobalBest() {
+        int best = 0;
+        for (int p = 1; p < numParticles; p++) {
+            if (personalBestMakespans[p] < personalBestMakespans[best]) {
+                best = p;
+            }
+        }
+        if (personalBestMakespans[best] >= globalBestMakespan) {
+            return false;
+        }
+        globalBestMakespan = personalBestMakespans[best];
+        System.arraycopy(personalBests, best * numCloudlets, globalBest, 0, numCloudlets);
+        return true;
+    }
+}
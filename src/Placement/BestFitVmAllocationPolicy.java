@@ -0,0 +1,71 @@
+package Placement;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Places every VM on the host that has the least MIPS left among those with
+ * room for it, so the VM fills the tightest gap and the hosts with the most
+ * room stay free for large VMs.
+ * <p>
+ * The hosts are kept in a tree ordered by free MIPS, so the tightest host is
+ * found in O(log H).
+ */
+public class BestFitVmAllocationPolicy extends BinPackingVmAllocationPolicy {
+
+    /**
+     * A host filed under its free MIPS, ties broken by position
+     */
+    private static final class Slot implements Comparable<Slot> {
+        final double mips;
+        final int host;
+
+        Slot(double mips, int host) {
+            this.mips = mips;
+            this.host = host;
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byMips = Double.compare(mips, other.mips);
+            return byMips != 0 ? byMips : Integer.compare(host, other.host);
+        }
+    }
+
+    private final Slot[] slots;
+    private final TreeSet<Slot> byFreeMips = new TreeSet<>();
+
+    public BestFitVmAllocationPolicy(List<? extends Host> list) {
+        super(list);
+        slots = new Slot[getNumberOfHosts()];
+
+        for (int h = 0; h < getNumberOfHosts(); h++) {
+            addToIndex(h);
+        }
+    }
+
+    @Override
+    protected int selectHost(Vm vm, boolean[] refused) {
+        for (Slot slot : byFreeMips.tailSet(new Slot(getRequestedMips(vm), -1), true)) {
+            int h = slot.host;
+            if (isCandidate(h, vm) && (refused == null || !refused[h])) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected void removeFromIndex(int h) {
+        byFreeMips.remove(slots[h]);
+    }
+
+    @Override
+    protected void addToIndex(int h) {
+        slots[h] = new Slot(freeMips[h], h);
+        byFreeMips.add(slots[h]);
+    }
+}
@@ -0,0 +1,180 @@
+package Placement;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicy;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base of the policies that pack VMs onto hosts. It keeps the remaining MIPS,
+ * RAM, bandwidth and storage of every host in primitive arrays, indexed by the
+ * position of the host in the host list, and lets the subclass keep the hosts
+ * in an index of its own, which is told before and after every change of a
+ * host so it can move the host to its new place.
+ * <p>
+ * A host is a candidate for a VM only if it has the MIPS, RAM, bandwidth and
+ * storage the VM asks for and its PEs are as fast as those of the VM, which is
+ * what the host checks itself when the VM is created on it.
+ */
+public abstract class BinPackingVmAllocationPolicy extends VmAllocationPolicy {
+
+    private final Map<String, Host> vmTable = new HashMap<>();
+    private final Map<Host, Integer> positions = new IdentityHashMap<>();
+
+    private final Host[] hosts;
+    protected final double[] freeMips;
+    protected final double[] freeRam;
+    protected final double[] freeBw;
+    protected final double[] freeStorage;
+    protected final double[] totalMips;
+    protected final double[] totalRam;
+    protected final double[] totalBw;
+    protected final double[] peCapacity;
+
+    public BinPackingVmAllocationPolicy(List<? extends Host> list) {
+        super(list);
+        int numberOfHosts = list.size();
+        hosts = list.toArray(new Host[0]);
+        freeMips = new double[numberOfHosts];
+        freeRam = new double[numberOfHosts];
+        freeBw = new double[numberOfHosts];
+        freeStorage = new double[numberOfHosts];
+        totalMips = new double[numberOfHosts];
+        totalRam = new double[numberOfHosts];
+        totalBw = new double[numberOfHosts];
+        peCapacity = new double[numberOfHosts];
+
+        for (int h = 0; h < numberOfHosts; h++) {
+            Host host = hosts[h];
+            positions.put(host, h);
+            totalMips[h] = host.getTotalMips();
+            totalRam[h] = host.getRamProvisioner().getRam();
+            totalBw[h] = host.getBwProvisioner().getBw();
+            peCapacity[h] = host.getVmScheduler().getPeCapacity();
+            readCapacity(h);
+        }
+    }
+
+    /**
+     * @return position of the host the VM should be created on, among the candidates, or -1 if there is none.
+     *         Called again, without the hosts that refused the VM, until a host accepts it or -1 is returned.
+     */
+    protected abstract int selectHost(Vm vm, boolean[] refused);
+
+    /**
+     * Called when the remaining capacity of the host is about to change
+     */
+    protected abstract void removeFromIndex(int h);
+
+    /**
+     * Called when the remaining capacity of the host has changed
+     */
+    protected abstract void addToIndex(int h);
+
+    protected int getNumberOfHosts() {
+        return hosts.length;
+    }
+
+    /**
+     * @return MIPS the VM asks for over all its PEs
+     */
+    protected static double getRequestedMips(Vm vm) {
+        return vm.getMips() * vm.getNumberOfPes();
+    }
+
+    /**
+     * @return whether the host has room for the VM
+     */
+    protected boolean isCandidate(int h, Vm vm) {
+        return freeMips[h] >= getRequestedMips(vm)
+                && freeRam[h] >= vm.getRam()
+                && freeBw[h] >= vm.getBw()
+                && freeStorage[h] >= vm.getSize()
+                && peCapacity[h] >= vm.getMips();
+    }
+
+    @Override
+    public boolean allocateHostForVm(Vm vm) {
+        if (vmTable.containsKey(vm.getUid())) {
+            return false;
+        }
+
+        boolean[] refused = null;
+        while (true) {
+            int h = selectHost(vm, refused);
+            if (h < 0) {
+                return false;
+            }
+            if (create(vm, h)) {
+                return true;
+            }
+            // the host turned the VM down on a check the arrays do not model, try the next candidate
+            if (refused == null) {
+                refused = new boolean[hosts.length];
+            }
+            refused[h] = true;
+        }
+    }
+
+    @Override
+    public boolean allocateHostForVm(Vm vm, Host host) {
+        Integer h = positions.get(host);
+        return h != null && !vmTable.containsKey(vm.getUid()) && create(vm, h);
+    }
+
+    private boolean create(Vm vm, int h) {
+        removeFromIndex(h);
+        boolean created = hosts[h].vmCreate(vm);
+        readCapacity(h);
+        addToIndex(h);
+
+        if (created) {
+            vmTable.put(vm.getUid(), hosts[h]);
+        }
+        return created;
+    }
+
+    @Override
+    public void deallocateHostForVm(Vm vm) {
+        Host host = vmTable.remove(vm.getUid());
+        if (host == null) {
+            return;
+        }
+        int h = positions.get(host);
+        removeFromIndex(h);
+        host.vmDestroy(vm);
+        readCapacity(h);
+        addToIndex(h);
+    }
+
+    private void readCapacity(int h) {
+        Host host = hosts[h];
+        freeMips[h] = host.getAvailableMips();
+        freeRam[h] = host.getRamProvisioner().getAvailableRam();
+        freeBw[h] = host.getBwProvisioner().getAvailableBw();
+        freeStorage[h] = host.getStorage();
+    }
+
+    @Override
+    public Host getHost(Vm vm) {
+        return vmTable.get(vm.getUid());
+    }
+
+    @Override
+    public Host getHost(int vmId, int userId) {
+        return vmTable.get(Vm.getUid(userId, vmId));
+    }
+
+    public Map<String, Host> getVmTable() {
+        return vmTable;
+    }
+
+    @Override
+    public List<Map<String, Object>> optimizeAllocation(List<? extends Vm> vmList) {
+        return null;
+    }
+}
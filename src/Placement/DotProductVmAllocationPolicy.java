@@ -0,0 +1,103 @@
+package Placement;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Places every VM on the host whose remaining capacity lines up best with the
+ * demand of the VM, the dot product of the two over MIPS, RAM and bandwidth,
+ * each normalised by the capacity of the host. A VM heavy on memory goes where
+ * memory is left rather than where MIPS are, so no resource is stranded on a
+ * host while another runs out.
+ * <p>
+ * Hosts with the same remaining capacity score the same, so they are grouped
+ * by it and only the first host of every group is scored. Hosts are usually
+ * built from a few classes and filled by a few VM types, so the groups are far
+ * fewer than the hosts; each change moves a host between groups in O(log H).
+ */
+public class DotProductVmAllocationPolicy extends BinPackingVmAllocationPolicy {
+
+    /**
+     * Remaining and total capacity shared by every host of a group
+     */
+    private static final class Shape {
+        final double[] values;
+
+        Shape(double... values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Shape && Arrays.equals(values, ((Shape) other).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+    }
+
+    private final Shape[] shapes;
+    private final Map<Shape, TreeSet<Integer>> groups = new HashMap<>();
+
+    public DotProductVmAllocationPolicy(List<? extends Host> list) {
+        super(list);
+        shapes = new Shape[getNumberOfHosts()];
+
+        for (int h = 0; h < getNumberOfHosts(); h++) {
+            addToIndex(h);
+        }
+    }
+
+    @Override
+    protected int selectHost(Vm vm, boolean[] refused) {
+        int best = -1;
+        double bestScore = -1;
+        for (TreeSet<Integer> group : groups.values()) {
+            for (int h : group) {
+                if (!isCandidate(h, vm)) {
+                    break;      // neither is any host of the group
+                }
+                if (refused != null && refused[h]) {
+                    continue;
+                }
+                double score = getScore(h, vm);
+                if (score > bestScore || (score == bestScore && h < best)) {
+                    bestScore = score;
+                    best = h;
+                }
+                break;
+            }
+        }
+        return best;
+    }
+
+    private double getScore(int h, Vm vm) {
+        return getRequestedMips(vm) / totalMips[h] * freeMips[h] / totalMips[h]
+                + vm.getRam() / totalRam[h] * freeRam[h] / totalRam[h]
+                + vm.getBw() / totalBw[h] * freeBw[h] / totalBw[h];
+    }
+
+    @Override
+    protected void removeFromIndex(int h) {
+        TreeSet<Integer> group = groups.get(shapes[h]);
+        group.remove(h);
+        if (group.isEmpty()) {
+            groups.remove(shapes[h]);
+        }
+    }
+
+    @Override
+    protected void addToIndex(int h) {
+        shapes[h] = new Shape(freeMips[h], freeRam[h], freeBw[h], freeStorage[h],
+                totalMips[h], totalRam[h], totalBw[h], peCapacity[h]);
+        groups.computeIfAbsent(shapes[h], shape -> new TreeSet<>()).add(h);
+    }
+}
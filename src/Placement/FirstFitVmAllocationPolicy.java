@@ -0,0 +1,92 @@
+package Placement;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Places every VM on the first host, in host list order, with room for it.
+ * Hosts fill up one after another, leaving the last ones empty for large VMs.
+ * {@link VmPlacement#FIRST_FIT} submits the VMs largest first, by requested
+ * MIPS over all PEs then RAM, which makes this first-fit decreasing.
+ * <p>
+ * The free MIPS, RAM and bandwidth of the hosts are kept in max segment trees
+ * over their positions, and a subtree is skipped when no host in it has enough
+ * of any of them, so the first host with room is usually found in O(log H).
+ */
+public class FirstFitVmAllocationPolicy extends BinPackingVmAllocationPolicy {
+
+    private final int leaves;
+    // tree[1] is the root, the hosts are the leaves from tree[leaves]
+    private final double[] mipsTree;
+    private final double[] ramTree;
+    private final double[] bwTree;
+
+    public FirstFitVmAllocationPolicy(List<? extends Host> list) {
+        super(list);
+        int size = 1;
+        while (size < Math.max(1, getNumberOfHosts())) {
+            size <<= 1;
+        }
+        leaves = size;
+        mipsTree = new double[2 * leaves];
+        ramTree = new double[2 * leaves];
+        bwTree = new double[2 * leaves];
+        Arrays.fill(mipsTree, -1);
+        Arrays.fill(ramTree, -1);
+        Arrays.fill(bwTree, -1);
+
+        for (int h = 0; h < getNumberOfHosts(); h++) {
+            addToIndex(h);
+        }
+    }
+
+    @Override
+    protected int selectHost(Vm vm, boolean[] refused) {
+        for (int h = findFirst(vm, 0); h >= 0; h = findFirst(vm, h + 1)) {
+            if (isCandidate(h, vm) && (refused == null || !refused[h])) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first host from the position on with at least the MIPS, RAM and bandwidth of the VM, or -1
+     */
+    private int findFirst(Vm vm, int from) {
+        return from >= getNumberOfHosts() ? -1
+                : findFirst(1, 0, leaves, getRequestedMips(vm), vm.getRam(), vm.getBw(), from);
+    }
+
+    private int findFirst(int node, int start, int end, double mips, double ram, double bw, int from) {
+        if (end <= from || mipsTree[node] < mips || ramTree[node] < ram || bwTree[node] < bw) {
+            return -1;
+        }
+        if (node >= leaves) {
+            return start;
+        }
+        int middle = (start + end) >>> 1;
+        int found = findFirst(2 * node, start, middle, mips, ram, bw, from);
+        return found >= 0 ? found : findFirst(2 * node + 1, middle, end, mips, ram, bw, from);
+    }
+
+    @Override
+    protected void removeFromIndex(int h) {
+    }
+
+    @Override
+    protected void addToIndex(int h) {
+        int node = leaves + h;
+        mipsTree[node] = freeMips[h];
+        ramTree[node] = freeRam[h];
+        bwTree[node] = freeBw[h];
+        for (node >>= 1; node >= 1; node >>= 1) {
+            mipsTree[node] = Math.max(mipsTree[2 * node], mipsTree[2 * node + 1]);
+            ramTree[node] = Math.max(ramTree[2 * node], ramTree[2 * node + 1]);
+            bwTree[node] = Math.max(bwTree[2 * node], bwTree[2 * node + 1]);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package Placement;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.VmAllocationPolicy;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The policies a datacenter can place VMs on its hosts with
+ */
+public enum VmPlacement {
+
+    /**
+     * CloudSim's default, the host with the most free PEs
+     */
+    SIMPLE {
+        @Override
+        public VmAllocationPolicy create(List<? extends Host> hosts) {
+            return new VmAllocationPolicySimple(hosts);
+        }
+    },
+
+    /**
+     * First-fit decreasing: the VMs are submitted largest first
+     */
+    FIRST_FIT {
+        @Override
+        public VmAllocationPolicy create(List<? extends Host> hosts) {
+            return new FirstFitVmAllocationPolicy(hosts);
+        }
+
+        @Override
+        public void sortForSubmission(List<? extends Vm> vms) {
+            vms.sort(Comparator.<Vm>comparingDouble(vm -> vm.getMips() * vm.getNumberOfPes())
+                    .thenComparingInt(Vm::getRam)
+                    .reversed());
+        }
+    },
+
+    BEST_FIT {
+        @Override
+        public VmAllocationPolicy create(List<? extends Host> hosts) {
+            return new BestFitVmAllocationPolicy(hosts);
+        }
+    },
+
+    DOT_PRODUCT {
+        @Override
+        public VmAllocationPolicy create(List<? extends Host> hosts) {
+            return new DotProductVmAllocationPolicy(hosts);
+        }
+    };
+
+    public abstract VmAllocationPolicy create(List<? extends Host> hosts);
+
+    /**
+     * Orders the VMs the way the policy wants them submitted, which leaves them as they are
+     * unless it packs the largest first
+     */
+    public void sortForSubmission(List<? extends Vm> vms) {
+    }
+
+    /**
+     * Accepts the constant name, ignoring case, dashes and underscores, e.g. best-fit
+     */
+    public static VmPlacement parse(String value) {
+        String key = normalize(value);
+        for (VmPlacement placement : values()) {
+            if (normalize(placement.name()).equals(key)) {
+                return placement;
+            }
+        }
+        if (key.equals("ffd")) {
+            return FIRST_FIT;
+        }
+        throw new IllegalArgumentException("Unknown placement: " + value);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replace("_", "").replace("-", "").toLowerCase();
+    }
+}
@@ -0,0 +1,25 @@
+package Priority;
+
+/**
+ * Defines how the priority of a waiting task escalates with simulated time
+ */
+@FunctionalInterface
+public interface AgingFunction {
+
+    /**
+     * Linear escalation: every simulated second of waiting adds the priority level once more
+     */
+    AgingFunction LINEAR = (priorityLevel, waitingTime) -> priorityLevel * 100 + waitingTime * priorityLevel;
+
+    /**
+     * No escalation: tasks are ordered by their priority level only
+     */
+    AgingFunction NONE = (priorityLevel, waitingTime) -> priorityLevel * 100;
+
+    /**
+     * @param priorityLevel  level assigned to the task, from 1
+     * @param waitingTime    simulated time the task has been waiting (CloudSim clock units)
+     * @return the priority value of the task
+     */
+    double age(int priorityLevel, double waitingTime);
+}
@@ -1,32 +1,35 @@
 package Priority;
 
+import Online.OnlineDatacenterBroker;
+import Workload.TimedCloudlet;
 import org.cloudbus.cloudsim.*;
+import org.cloudbus.cloudsim.core.CloudSim;
 
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 
 class Task {
+    Cloudlet cloudlet;          // only set for tasks waiting online
     int cloudletIndex;
-    int priorityLevel;			// Assigned a value from 1 to 10 (not enforced yet)
-    float priority;				// The priority value calculated using priorityLevel and the taskTime
-    int taskStartTime;			// When the task started (in ms)
-    int taskTime;				// How long the task has been waiting
+    int priorityLevel;			// Assigned a value from 1 to 10, so every task ages
+    double priority;			// The priority value calculated using priorityLevel and the taskTime
+    double taskStartTime;		// When the task was submitted (simulated time)
+    double taskTime;			// How long the task has been waiting (simulated time)
 
     // Initialises a task object, sets passed values to object properties
-    Task(int index, int p_level){
+    Task(int index, int p_level, double submissionTime, AgingFunction agingFunction){
         this.cloudletIndex = index;			// sets the cloudlet index
         this.priorityLevel = p_level;		// sets the priority level
 
-        this.taskStartTime = (int) System.currentTimeMillis();	// sets the current time (initial task time)
-        this.priority = this.priorityLevel * 100;				// doesn't use taskTime as task has just been initialised
+        this.taskStartTime = submissionTime;						// sets the simulated time the task was submitted at
+        this.priority = agingFunction.age(this.priorityLevel, 0);	// doesn't use taskTime as task has just been initialised
     }
 
-    // Finds the time the task has been waiting and recalculates its priority value
-    public void refreshTask() {
+    // Finds the time the task has been waiting at the given simulated time and recalculates its priority value
+    public void refreshTask(AgingFunction agingFunction, double now) {
         // retrieves time waiting
-        this.taskTime = (int) (System.currentTimeMillis() - this.taskStartTime);
-        // Equation below defines how priority escalates with time
-        this.priority = this.priorityLevel * 100 + (this.taskTime*this.priorityLevel/1000);
+        this.taskTime = Math.max(0, now - this.taskStartTime);
+        // The aging function defines how priority escalates with time
+        this.priority = agingFunction.age(this.priorityLevel, this.taskTime);
     }
 
     // Used to nicely format output header
@@ -37,50 +40,172 @@ class Task {
 
     // Nicely formats task output
     public void printTask() {
-        System.out.printf("%-17d%-17d%-17.2f% -17d\n",
+        System.out.printf("%-17d%-17d%-17.2f% -17.2f\n",
                 this.cloudletIndex, this.priorityLevel, this.priority, this.taskTime);
     }
 }
 
-public class PriorityDatacenterBroker extends DatacenterBroker {
+/**
+ * Orders the tasks by a random priority level, escalated with the time they
+ * wait. A batch is ordered as of the moment its last cloudlet was submitted,
+ * each cloudlet having waited since its own submission (its arrival time for
+ * timed cloudlets). Online, arriving tasks wait in one queue per priority
+ * level, and each VM that frees up takes the task whose aged priority is the
+ * highest at that moment.
+ */
+public class PriorityDatacenterBroker extends OnlineDatacenterBroker {
+
+    private static final int PRIORITY_LEVELS = 10;
+
+    // Highest priority value first, ties keep the submission order
+    private static final Comparator<Task> PRIORITY_ORDER = Comparator
+            .comparingDouble((Task t) -> t.priority).reversed()
+            .thenComparingInt(t -> t.cloudletIndex);
+
+    private final Random random;
+
+    private AgingFunction agingFunction = AgingFunction.LINEAR;
 
     public PriorityDatacenterBroker(String name) throws Exception {
+        this(name, null);
+    }
+
+    /**
+     * @param seed  seed of the random priority levels, the same seed always gives the same order;
+     *              null for a different one every run, the seed drawn being logged
+     */
+    public PriorityDatacenterBroker(String name, Long seed) throws Exception {
         super(name);
+        if (seed == null) {
+            seed = System.nanoTime();
+            Log.printLine(getName() + ": priority levels drawn with seed " + seed);
+        }
+        this.random = new Random(seed);
+    }
+
+    public AgingFunction getAgingFunction() {
+        return agingFunction;
+    }
+
+    /**
+     * @param agingFunction  how the priority of a waiting task escalates, never decreasing with the waiting time
+     */
+    public void setAgingFunction(AgingFunction agingFunction) {
+        this.agingFunction = agingFunction;
     }
 
+    /**
+     * @return a random level from 1 to PRIORITY_LEVELS; none is 0, which would stop the task from aging
+     */
+    private int drawPriorityLevel() {
+        return random.nextInt(PRIORITY_LEVELS) + 1;
+    }
 
     public void runPriority() {
-        try {
-            Scanner scanner = new Scanner(System.in);
-            List<Cloudlet> submissionList = new ArrayList<Cloudlet>();
-            List<Task> priorityList = new ArrayList<Task>();
+        int numCloudlets = getCloudletList().size();
+        List<Cloudlet> submissionList = new ArrayList<Cloudlet>(numCloudlets);
+        List<Task> tasks = new ArrayList<Task>(numCloudlets);
 
-            int[] priorityTestVals = new int[getCloudletList().size()];
-            Log.printLine("Assigning random priorities (1-10) to tasks");
+        Log.printLine("Assigning random priorities (1-10) to tasks");
+
+        double now = CloudSim.clock();
+        for (int id = 0; id < numCloudlets; id++) {
+            double submissionTime = getSubmissionTime(getCloudletList().get(id));
+            tasks.add(new Task(id, drawPriorityLevel(), submissionTime, agingFunction));
+            now = Math.max(now, submissionTime);
+        }
+
+        PriorityQueue<Task> priorityQueue = new PriorityQueue<Task>(Math.max(1, numCloudlets), PRIORITY_ORDER);
+        for (Task task : tasks) {
+            task.refreshTask(agingFunction, now);
+            priorityQueue.add(task);
+        }
 
-            Random random = new Random();
-            for (int i = 0; i < getCloudletList().size(); i++) {
-                priorityTestVals[i] = random.nextInt(10);
+        while (!priorityQueue.isEmpty()) {
+            submissionList.add(cloudletList.get(priorityQueue.poll().cloudletIndex));
+        }
+
+        getCloudletList().clear();
+        getCloudletList().addAll(submissionList);
+    }
+
+    /**
+     * @return the arrival time of a timed cloudlet, the current simulated time for any other
+     */
+    private static double getSubmissionTime(Cloudlet cloudlet) {
+        return cloudlet instanceof TimedCloudlet ? ((TimedCloudlet) cloudlet).getArrivalTime() : CloudSim.clock();
+    }
+
+    /**
+     * The waiting tasks of every priority level are kept in arrival order. As the aging function never
+     * decreases with the waiting time, the first task of a level always has the highest priority of
+     * that level, so the next task served is the best of the first tasks of the levels, aged to the
+     * current simulated time. Offering and taking a task cost O(levels) whatever the queue length.
+     */
+    @Override
+    protected Queue<Cloudlet> createWaitingQueue() {
+        return new AbstractQueue<Cloudlet>() {
+            private final List<ArrayDeque<Task>> levels = new ArrayList<>(PRIORITY_LEVELS);
+            private int arrivals = 0;
+            private int size = 0;
+
+            {
+                for (int level = 0; level < PRIORITY_LEVELS; level++) {
+                    levels.add(new ArrayDeque<>());
+                }
             }
 
-            for (int id = 0; id < getCloudletList().size(); id++) {
-                priorityList.add(new Task(id, priorityTestVals[id]));
+            @Override
+            public boolean offer(Cloudlet cloudlet) {
+                Task task = new Task(arrivals++, drawPriorityLevel(), CloudSim.clock(), agingFunction);
+                task.cloudlet = cloudlet;
+                levels.get(task.priorityLevel - 1).add(task);
+                size++;
+                return true;
             }
 
-            for (int i = 0; i < getCloudletList().size(); i++) {
-                TimeUnit.SECONDS.sleep(2);
-                priorityList.get(i).refreshTask();
+            private ArrayDeque<Task> highestLevel() {
+                double now = CloudSim.clock();
+                ArrayDeque<Task> highest = null;
+                for (ArrayDeque<Task> level : levels) {
+                    Task task = level.peek();
+                    if (task == null) {
+                        continue;
+                    }
+                    task.refreshTask(agingFunction, now);
+                    if (highest == null || PRIORITY_ORDER.compare(task, highest.peek()) < 0) {
+                        highest = level;
+                    }
+                }
+                return highest;
             }
 
-            priorityList.sort((Task t1, Task t2) -> Float.compare(t2.priority, t1.priority));
-            priorityList.forEach((t) -> submissionList.add(cloudletList.get(t.cloudletIndex)));
+            @Override
+            public Cloudlet poll() {
+                ArrayDeque<Task> level = highestLevel();
+                if (level == null) {
+                    return null;
+                }
+                size--;
+                return level.poll().cloudlet;
+            }
 
-            getCloudletList().clear();
-            getCloudletList().addAll(submissionList);
-        }catch (Exception e) {
-            e.printStackTrace();
-            Log.printLine("The simulation has been terminated due to an unexpected error");
-        }
+            @Override
+            public Cloudlet peek() {
+                ArrayDeque<Task> level = highestLevel();
+                return level != null ? level.peek().cloudlet : null;
+            }
+
+            @Override
+            public Iterator<Cloudlet> iterator() {
+                return levels.stream().flatMap(Collection::stream).map(task -> task.cloudlet).iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
     }
 
     @Override
@@ -88,4 +213,4 @@ public class PriorityDatacenterBroker extends DatacenterBroker {
         getCloudletList().addAll(list);
         runPriority();
     }
-}
\ No newline at end of file
+}
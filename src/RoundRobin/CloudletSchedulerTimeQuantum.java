@@ -0,0 +1,222 @@
+package RoundRobin;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.Consts;
+import org.cloudbus.cloudsim.ResCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.*;
+
+/**
+ * Preemptive round robin on the PEs of a VM. A cloudlet holds its PEs for
+ * one quantum; if cloudlets are waiting when the quantum runs out, it goes
+ * to the back of the queue and the first waiting cloudlet that fits takes
+ * its PEs, after a context switch during which the PEs do no work. With
+ * nobody waiting a cloudlet just keeps running, so with an infinite quantum
+ * this is the same as CloudletSchedulerSpaceShared.
+ *
+ * A cloudlet counts as started when it first gets a PE, but its CPU time, as
+ * recorded for its datacenter, only adds up the slices it actually ran,
+ * without the time it was preempted or switched to. The datacenter does not
+ * process a VM twice within CloudSim.getMinTimeBetweenEvents(), so shorter
+ * quanta are stretched to that.
+ */
+public class CloudletSchedulerTimeQuantum extends CloudletSchedulerSpaceShared {
+    private final double quantum;
+    private final double contextSwitch;
+
+    private final Map<ResCloudlet, Double> runFrom = new HashMap<>();     // when the context switch to it is over
+    private final Map<ResCloudlet, Double> sliceEnd = new HashMap<>();
+    private final Map<ResCloudlet, Double> ranFor = new HashMap<>();      // seconds of the slices it ran so far
+    private double capacity;     // MIPS of one PE
+
+    /**
+     * @param quantum  seconds a cloudlet runs before it can be preempted
+     * @param contextSwitch  seconds the PEs of a preempted cloudlet stay idle before the next one runs on them
+     */
+    public CloudletSchedulerTimeQuantum(double quantum, double contextSwitch) {
+        if (!(quantum > 0)) {
+            throw new IllegalArgumentException("The quantum must be positive: " + quantum);
+        }
+        if (!(contextSwitch >= 0)) {
+            throw new IllegalArgumentException("The context switch cannot be negative: " + contextSwitch);
+        }
+        this.quantum = quantum;
+        this.contextSwitch = contextSwitch;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+
+    public double getContextSwitch() {
+        return contextSwitch;
+    }
+
+    @Override
+    public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+        updateCapacity(mipsShare);
+        List<ResCloudlet> running = getCloudletExecList();
+        List<ResCloudlet> waiting = getCloudletWaitingList();
+
+        for (ResCloudlet rcl : running) {
+            double from = Math.max(getPreviousTime(), runFrom.get(rcl));
+            if (currentTime > from) {
+                rcl.updateCloudletFinishedSoFar((long) (capacity * (currentTime - from) * rcl.getNumberOfPes() * Consts.MILLION));
+            }
+        }
+
+        if (running.isEmpty() && waiting.isEmpty()) {
+            setPreviousTime(currentTime);
+            return 0.0;
+        }
+
+        for (Iterator<ResCloudlet> i = running.iterator(); i.hasNext(); ) {
+            ResCloudlet rcl = i.next();
+            if (rcl.getRemainingCloudletLength() == 0) {
+                i.remove();
+                stop(rcl, currentTime);
+                cloudletFinish(rcl);
+            }
+        }
+
+        // preempt expired cloudlets only as far as the waiting ones need their PEs
+        int missingPes = -(currentCpus - usedPes);
+        for (ResCloudlet rcl : waiting) {
+            missingPes += rcl.getNumberOfPes();
+        }
+
+        List<ResCloudlet> preempted = new ArrayList<>();
+        for (Iterator<ResCloudlet> i = running.iterator(); i.hasNext(); ) {
+            ResCloudlet rcl = i.next();
+            if (sliceEnd.get(rcl) - currentTime >= CloudSim.getMinTimeBetweenEvents()) {
+                continue;
+            }
+            if (missingPes > 0) {
+                i.remove();
+                stop(rcl, currentTime);
+                usedPes -= rcl.getNumberOfPes();
+                missingPes -= rcl.getNumberOfPes();
+                preempted.add(rcl);
+            } else {
+                sliceEnd.put(rcl, currentTime + quantum);
+            }
+        }
+
+        int switchedPes = 0;
+        for (ResCloudlet rcl : preempted) {
+            switchedPes += rcl.getNumberOfPes();
+        }
+        for (Iterator<ResCloudlet> i = waiting.iterator(); i.hasNext() && usedPes < currentCpus; ) {
+            ResCloudlet rcl = i.next();
+            if (currentCpus - usedPes >= rcl.getNumberOfPes()) {
+                i.remove();
+                dispatch(rcl, switchedPes > 0 ? currentTime + contextSwitch : currentTime);
+                switchedPes -= rcl.getNumberOfPes();
+            }
+        }
+        for (ResCloudlet rcl : preempted) {
+            if (currentCpus - usedPes >= rcl.getNumberOfPes()) {
+                // nobody that fits was waiting for its PEs after all, so no switch either
+                dispatch(rcl, currentTime);
+            } else {
+                waiting.add(rcl);
+            }
+        }
+
+        double nextEvent = Double.MAX_VALUE;
+        for (ResCloudlet rcl : running) {
+            double finish = Math.max(currentTime, runFrom.get(rcl))
+                    + rcl.getRemainingCloudletLength() / (capacity * rcl.getNumberOfPes());
+            nextEvent = Math.min(nextEvent, finish);
+            if (!waiting.isEmpty()) {
+                nextEvent = Math.min(nextEvent, sliceEnd.get(rcl));
+            }
+        }
+        if (nextEvent - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+            nextEvent = currentTime + CloudSim.getMinTimeBetweenEvents();
+        }
+
+        setPreviousTime(currentTime);
+        return nextEvent;
+    }
+
+    @Override
+    public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+        ResCloudlet rcl = new ResCloudlet(cloudlet);
+        double currentTime = CloudSim.clock();
+
+        // the time spent transferring the files is added to the length, as in CloudletSchedulerSpaceShared
+        cloudlet.setCloudletLength(cloudlet.getCloudletLength() + (long) (capacity * fileTransferTime));
+
+        if (currentCpus - usedPes >= cloudlet.getNumberOfPes()) {
+            dispatch(rcl, currentTime);
+            return cloudlet.getCloudletLength() / capacity;
+        }
+
+        rcl.setCloudletStatus(Cloudlet.QUEUED);
+        getCloudletWaitingList().add(rcl);
+
+        // make sure the datacenter comes back when the first running slice ends
+        double firstSliceEnd = Double.MAX_VALUE;
+        for (ResCloudlet running : this.<ResCloudlet>getCloudletExecList()) {
+            firstSliceEnd = Math.min(firstSliceEnd, sliceEnd.get(running));
+        }
+        if (firstSliceEnd == Double.MAX_VALUE) {
+            return 0.0;
+        }
+        return Math.max(firstSliceEnd - currentTime, CloudSim.getMinTimeBetweenEvents());
+    }
+
+    @Override
+    public void cloudletFinish(ResCloudlet rcl) {
+        forget(rcl);
+        Double ran = ranFor.remove(rcl);
+        super.cloudletFinish(rcl);
+        if (ran != null) {
+            Cloudlet cloudlet = rcl.getCloudlet();
+            cloudlet.setExecParam(cloudlet.getWallClockTime(), ran);
+        }
+    }
+
+    private void dispatch(ResCloudlet rcl, double from) {
+        if (rcl.getCloudletStatus() != Cloudlet.INEXEC) {
+            rcl.setCloudletStatus(Cloudlet.INEXEC);
+            for (int k = 0; k < rcl.getNumberOfPes(); k++) {
+                rcl.setMachineAndPeId(0, k);
+            }
+        }
+        getCloudletExecList().add(rcl);
+        usedPes += rcl.getNumberOfPes();
+        runFrom.put(rcl, from);
+        sliceEnd.put(rcl, from + quantum);
+    }
+
+    /**
+     * Takes the cloudlet off its PEs, adding the slice it just ran to its CPU time
+     */
+    private void stop(ResCloudlet rcl, double currentTime) {
+        ranFor.merge(rcl, Math.max(0, currentTime - runFrom.get(rcl)), Double::sum);
+        forget(rcl);
+    }
+
+    private void forget(ResCloudlet rcl) {
+        runFrom.remove(rcl);
+        sliceEnd.remove(rcl);
+    }
+
+    private void updateCapacity(List<Double> mipsShare) {
+        setCurrentMipsShare(mipsShare);
+        double total = 0;
+        int cpus = 0;
+        for (Double mips : mipsShare) {
+            total += mips;
+            if (mips > 0) {
+                cpus++;
+            }
+        }
+        currentCpus = cpus;
+        capacity = cpus > 0 ? total / cpus : 0;
+    }
+}
@@ -1,6 +1,7 @@
 package RoundRobin;
 
-import org.cloudbus.cloudsim.DatacenterBroker;
+import Online.OnlineDatacenterBroker;
+import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
@@ -10,12 +11,24 @@ import org.cloudbus.cloudsim.core.SimEvent;
 
 import java.util.List;
 
-public class RoundRobinDatacenterBroker extends DatacenterBroker {
+public class RoundRobinDatacenterBroker extends OnlineDatacenterBroker {
+
+    private int nextVm = 0;
 
     public RoundRobinDatacenterBroker(String name) throws Exception {
         super(name);
     }
 
+    /**
+     * Online, arriving cloudlets are handed to the VMs in turn, whether they are busy or not
+     */
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        int v = nextVm;
+        nextVm = (nextVm + 1) % getOnlineVms().size();
+        return v;
+    }
+
     @Override
     protected void processResourceCharacteristics(SimEvent ev) {
         DatacenterCharacteristics characteristics = (DatacenterCharacteristics) ev.getData();
@@ -0,0 +1,76 @@
+package RoundRobin;
+
+import Online.IndexedMinHeap;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Picks items in turn, each as often as its weight, spreading the picks of
+ * every item evenly instead of in bursts: weights 5, 1, 1 give a a b a c a a
+ * rather than a a a a a b c. Implemented as stride scheduling, each item
+ * advancing its pass by 1 / weight when picked and the lowest pass going
+ * next, so a pick costs O(log n) however many items there are.
+ */
+public class SmoothWeightedRoundRobin {
+    private final double[] stride;
+    private final IndexedMinHeap pass;
+
+    /**
+     * @param weights  relative share of each item, items with a weight of 0 are never picked
+     */
+    public SmoothWeightedRoundRobin(double[] weights) {
+        stride = new double[weights.length];
+        pass = new IndexedMinHeap(weights.length);
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                stride[i] = 1 / weights[i];
+                // starting half a stride in interleaves the first round too
+                pass.set(i, stride[i] / 2);
+            }
+        }
+    }
+
+    /**
+     * @return whether no item has a positive weight
+     */
+    public boolean isEmpty() {
+        return pass.isEmpty();
+    }
+
+    /**
+     * @return the next item
+     */
+    public int next() {
+        int item = pass.peek();
+        pass.set(item, pass.getKey(item) + stride[item]);
+        return item;
+    }
+
+    /**
+     * Picks the next item the filter accepts, leaving the turn of the rejected ones untouched
+     * @return the item, or -1 if the filter accepts none
+     */
+    public int next(IntPredicate accepted) {
+        int[] rejected = new int[pass.size()];
+        double[] rejectedPass = new double[pass.size()];
+        int numberRejected = 0;
+
+        int item = -1;
+        while (!pass.isEmpty()) {
+            int candidate = pass.peek();
+            if (accepted.test(candidate)) {
+                item = candidate;
+                pass.set(item, pass.getKey(item) + stride[item]);
+                break;
+            }
+            rejected[numberRejected] = candidate;
+            rejectedPass[numberRejected++] = pass.getKey(candidate);
+            pass.remove(candidate);
+        }
+
+        for (int i = 0; i < numberRejected; i++) {
+            pass.set(rejected[i], rejectedPass[i]);
+        }
+        return item;
+    }
+}
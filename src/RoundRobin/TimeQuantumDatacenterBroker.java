@@ -0,0 +1,86 @@
+package RoundRobin;
+
+import Online.WorkStealing;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Round robin in time as well as across VMs: cloudlets are spread over the
+ * VMs like RoundRobinDatacenterBroker does, and on each VM they take turns on
+ * the PEs one quantum at a time instead of running to completion. A small
+ * quantum lets short cloudlets through quickly behind long ones, at the
+ * price of a context switch at every turn.
+ * <p>
+ * Work stealing stays off: it holds cloudlets at the broker until their VM
+ * has free PEs, so the VMs would never have a queue to preempt for.
+ */
+public class TimeQuantumDatacenterBroker extends RoundRobinDatacenterBroker {
+    public static final double DEFAULT_QUANTUM = 1.0;
+    public static final double DEFAULT_CONTEXT_SWITCH = 0.01;
+
+    private double quantum;
+    private double contextSwitch;
+
+    public TimeQuantumDatacenterBroker(String name) throws Exception {
+        this(name, DEFAULT_QUANTUM, DEFAULT_CONTEXT_SWITCH);
+    }
+
+    /**
+     * @param quantum  seconds a cloudlet runs before it can be preempted
+     * @param contextSwitch  seconds the PEs stay idle when a cloudlet is preempted
+     */
+    public TimeQuantumDatacenterBroker(String name, double quantum, double contextSwitch) throws Exception {
+        super(name);
+        this.quantum = quantum;
+        this.contextSwitch = contextSwitch;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+
+    /**
+     * Applies to the VMs submitted afterwards
+     */
+    public void setQuantum(double quantum) {
+        this.quantum = quantum;
+    }
+
+    public double getContextSwitch() {
+        return contextSwitch;
+    }
+
+    /**
+     * Applies to the VMs submitted afterwards
+     */
+    public void setContextSwitch(double contextSwitch) {
+        this.contextSwitch = contextSwitch;
+    }
+
+    /**
+     * Ignored, as stealing would turn the preemption off
+     */
+    @Override
+    public void setWorkStealing(WorkStealing workStealing) {
+        if (workStealing != null) {
+            Log.printLine(getName() + ": work stealing is left off, it would keep the VMs from preempting");
+        }
+    }
+
+    /**
+     * Submits a copy of every VM that schedules its cloudlets by time quantum,
+     * so getVmList() returns the copies
+     */
+    @Override
+    public void submitVmList(List<? extends Vm> list) {
+        List<Vm> vms = new ArrayList<>(list.size());
+        for (Vm vm : list) {
+            vms.add(new Vm(vm.getId(), vm.getUserId(), vm.getMips(), vm.getNumberOfPes(), vm.getRam(), vm.getBw(),
+                    vm.getSize(), vm.getVmm(), new CloudletSchedulerTimeQuantum(quantum, contextSwitch)));
+        }
+        super.submitVmList(vms);
+    }
+}
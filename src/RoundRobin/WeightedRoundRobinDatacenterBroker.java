@@ -0,0 +1,232 @@
+package RoundRobin;
+
+import org.cloudbus.cloudsim.*;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Round robin weighted by capacity at both levels. VMs go to the datacenters
+ * in proportion to their free PE MIPS and RAM, skipping datacenters whose
+ * hosts have no room left for the VM. Cloudlets go to the VMs in proportion
+ * to their MIPS over all PEs, so faster VMs take proportionally more work.
+ */
+public class WeightedRoundRobinDatacenterBroker extends RoundRobinDatacenterBroker {
+
+    private SmoothWeightedRoundRobin vmTurns;
+
+    public WeightedRoundRobinDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    /**
+     * Books every VM on a datacenter with room for it, picked by smooth weighted round robin
+     */
+    @Override
+    protected void distributeRequestsForNewVmsAcrossDatacentersUsingTheRoundRobinApproach() {
+        final List<Integer> availableDatacenters = getDatacenterIdsList();
+        List<FreeCapacity> capacities = new ArrayList<>(availableDatacenters.size());
+
+        double totalMips = 0;
+        double totalRam = 0;
+        for (int datacenterId : availableDatacenters) {
+            FreeCapacity capacity = new FreeCapacity(getDatacenterCharacteristicsList().get(datacenterId));
+            capacities.add(capacity);
+            totalMips += capacity.getMips();
+            totalRam += capacity.getRam();
+        }
+
+        // the scarcer of the two resources decides the share of a datacenter
+        double[] weights = new double[capacities.size()];
+        for (int d = 0; d < weights.length; d++) {
+            double mipsShare = totalMips > 0 ? capacities.get(d).getMips() / totalMips : 0;
+            double ramShare = totalRam > 0 ? capacities.get(d).getRam() / totalRam : 0;
+            weights[d] = Math.min(mipsShare, ramShare);
+        }
+        SmoothWeightedRoundRobin datacenterTurns = new SmoothWeightedRoundRobin(weights);
+
+        int numberOfVmsAllocated = 0;
+        for (Vm vm : getVmList()) {
+            if (getVmsToDatacentersMap().containsKey(vm.getId())) {
+                continue;
+            }
+
+            int d = datacenterTurns.isEmpty() ? -1 : datacenterTurns.next(c -> capacities.get(c).fits(vm));
+            if (d >= 0) {
+                capacities.get(d).reserve(vm);
+            } else {
+                // no datacenter seems to have room: ask the first one, a refusal moves the VM to the next
+                d = 0;
+            }
+
+            int datacenterId = availableDatacenters.get(d);
+            Log.printLine(CloudSim.clock() + ": " + getName() + ": " +
+                    "Trying to Create VM #" + vm.getId() + " in " + CloudSim.getEntityName(datacenterId));
+            sendNow(datacenterId, CloudSimTags.VM_CREATE_ACK, vm);
+            numberOfVmsAllocated++;
+        }
+
+        setVmsRequested(numberOfVmsAllocated);
+        setVmsAcks(0);
+    }
+
+    @Override
+    protected void onVmsReady() {
+        List<Vm> vms = getOnlineVms();
+        double[] weights = new double[vms.size()];
+        for (int v = 0; v < weights.length; v++) {
+            weights[v] = vms.get(v).getMips() * vms.get(v).getNumberOfPes();
+        }
+        vmTurns = new SmoothWeightedRoundRobin(weights);
+    }
+
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        return vmTurns.next();
+    }
+
+    /**
+     * Binds the batch in submission order, the VMs taking turns by weight
+     */
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (getOnlineVms().isEmpty()) {
+            return;
+        }
+
+        for (Cloudlet cloudlet : new ArrayList<Cloudlet>(getCloudletList())) {
+            sendToVm(cloudlet, selectVm(cloudlet));
+        }
+
+        getCloudletList().clear();
+    }
+
+    /**
+     * What is left on the hosts of a datacenter as VMs are booked on it. As in
+     * {@link Placement.FirstFitVmAllocationPolicy}, the free PEs, MIPS and RAM of the hosts
+     * are kept in max segment trees over their positions, and a subtree is skipped when no
+     * host in it has enough of any of them, so the first host with room for a VM is usually
+     * found in O(log H). The host found by {@link #fits(Vm)} is kept for {@link #reserve(Vm)}.
+     * <p>
+     * A VM takes PEs of its own on a space-shared host, whose free PEs go down as VMs are booked
+     * on it. Time-shared hosts share their PEs between the VMs, only their MIPS run out.
+     */
+    private static class FreeCapacity {
+        private final int numberOfHosts;
+        private final int leaves;
+        // tree[1] is the root, the hosts are the leaves from tree[leaves]
+        private final double[] peMipsTree;     // free MIPS of the largest PE of each host
+        private final double[] pesTree;        // PEs of each host a VM can still be given
+        private final double[] mipsTree;
+        private final double[] ramTree;
+        private final boolean[] spaceShared;
+        private final double totalMips;
+        private final double totalRam;
+
+        private Vm checkedVm;
+        private int checkedHost = -1;
+
+        FreeCapacity(DatacenterCharacteristics characteristics) {
+            List<Host> hosts = characteristics.getHostList();
+            numberOfHosts = hosts.size();
+            int size = 1;
+            while (size < Math.max(1, numberOfHosts)) {
+                size <<= 1;
+            }
+            leaves = size;
+            peMipsTree = new double[2 * leaves];
+            pesTree = new double[2 * leaves];
+            mipsTree = new double[2 * leaves];
+            ramTree = new double[2 * leaves];
+            Arrays.fill(peMipsTree, -1);
+            Arrays.fill(pesTree, -1);
+            Arrays.fill(mipsTree, -1);
+            Arrays.fill(ramTree, -1);
+            spaceShared = new boolean[numberOfHosts];
+
+            double mips = 0;
+            double ram = 0;
+            for (int h = 0; h < numberOfHosts; h++) {
+                Host host = hosts.get(h);
+                int leaf = leaves + h;
+                peMipsTree[leaf] = 0;
+                for (Pe pe : host.getPeList()) {
+                    peMipsTree[leaf] = Math.max(peMipsTree[leaf], pe.getPeProvisioner().getAvailableMips());
+                }
+                spaceShared[h] = host.getVmScheduler() instanceof VmSchedulerSpaceShared;
+                pesTree[leaf] = spaceShared[h] ? host.getNumberOfFreePes() : host.getNumberOfPes();
+                mipsTree[leaf] = host.getAvailableMips();
+                ramTree[leaf] = host.getRamProvisioner().getAvailableRam();
+                mips += mipsTree[leaf];
+                ram += ramTree[leaf];
+            }
+            for (int node = leaves - 1; node >= 1; node--) {
+                update(node);
+            }
+            totalMips = mips;
+            totalRam = ram;
+        }
+
+        double getMips() {
+            return totalMips;
+        }
+
+        double getRam() {
+            return totalRam;
+        }
+
+        boolean fits(Vm vm) {
+            return findHost(vm) >= 0;
+        }
+
+        /**
+         * Books the MIPS and RAM of the VM, and its PEs on a space-shared host, on the first host with room for it
+         */
+        void reserve(Vm vm) {
+            int h = findHost(vm);
+            int leaf = leaves + h;
+            if (spaceShared[h]) {
+                pesTree[leaf] -= vm.getNumberOfPes();
+            }
+            mipsTree[leaf] -= vm.getMips() * vm.getNumberOfPes();
+            ramTree[leaf] -= vm.getRam();
+            for (int node = leaf >> 1; node >= 1; node >>= 1) {
+                update(node);
+            }
+            checkedVm = null;
+        }
+
+        private int findHost(Vm vm) {
+            if (vm != checkedVm) {
+                checkedVm = vm;
+                checkedHost = numberOfHosts == 0 ? -1
+                        : findFirst(1, 0, leaves, vm.getNumberOfPes(), vm.getMips(), vm.getMips() * vm.getNumberOfPes(), vm.getRam());
+            }
+            return checkedHost;
+        }
+
+        private int findFirst(int node, int start, int end, double pes, double peMips, double mips, double ram) {
+            if (start >= numberOfHosts || pesTree[node] < pes || peMipsTree[node] < peMips
+                    || mipsTree[node] < mips || ramTree[node] < ram) {
+                return -1;
+            }
+            if (node >= leaves) {
+                return start;
+            }
+            int middle = (start + end) >>> 1;
+            int found = findFirst(2 * node, start, middle, pes, peMips, mips, ram);
+            return found >= 0 ? found : findFirst(2 * node + 1, middle, end, pes, peMips, mips, ram);
+        }
+
+        private void update(int node) {
+            peMipsTree[node] = Math.max(peMipsTree[2 * node], peMipsTree[2 * node + 1]);
+            pesTree[node] = Math.max(pesTree[2 * node], pesTree[2 * node + 1]);
+            mipsTree[node] = Math.max(mipsTree[2 * node], mipsTree[2 * node + 1]);
+            ramTree[node] = Math.max(ramTree[2 * node], ramTree[2 * node + 1]);
+        }
+    }
+}
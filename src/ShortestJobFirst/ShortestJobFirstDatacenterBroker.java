@@ -1,59 +1,119 @@
 package ShortestJobFirst;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
+import Online.OnlineDatacenterBroker;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
-public class ShortestJobFirstDatacenterBroker extends DatacenterBroker {
+public class ShortestJobFirstDatacenterBroker extends OnlineDatacenterBroker {
 
     public ShortestJobFirstDatacenterBroker(String name) throws Exception {
         super(name);
     }
 
 
+    /**
+     * Orders the waiting cloudlets shortest first and binds each one to the VM
+     * that is expected to be free the earliest. Expected finish times are kept
+     * in a min-heap, so scheduling n cloudlets on m VMs costs O(n log n + n log m).
+     */
     public void scheduleTaskstoVms() {
-        int reqTasks = cloudletList.size();
-        int reqVms = vmList.size();
-        Vm vm = vmList.get(0);
+        List<Cloudlet> cloudlets = getCloudletList();
+        List<Vm> vms = getVmsCreatedList();
+        int reqVms = vms.size();
 
-        for (int i = 0; i < reqTasks; i++) {
-            bindCloudletToVm(i, (i % reqVms));
-            System.out.println("Task" + cloudletList.get(i).getCloudletId() + " is bound with VM" + vmList.get(i % reqVms).getId());
+        if (reqVms == 0) {
+            return;
         }
 
-        Cloudlet[] list = new ArrayList<Cloudlet>(getCloudletReceivedList()).toArray(new Cloudlet[0]);
+        initVmState();
+        cloudlets.sort(Comparator.comparingLong(Cloudlet::getCloudletLength));
 
+        double[] expectedFinishTime = new double[reqVms];
+        double[] capacity = new double[reqVms];
+        PriorityQueue<Integer> earliestFreeVm = new PriorityQueue<>(reqVms,
+                Comparator.comparingDouble((Integer v) -> expectedFinishTime[v]).thenComparingInt(v -> v));
 
-        int n = list.length;
+        for (int v = 0; v < reqVms; v++) {
+            capacity[v] = vms.get(v).getMips() * vms.get(v).getNumberOfPes();
+            earliestFreeVm.add(v);
+        }
 
-        for (int i = 0; i < n; i++) {
-            Cloudlet temp = null;
-            for (int j = 1; j < (n - i); j++) {
-                if (list[j - 1].getCloudletLength() / (vm.getMips() * vm.getNumberOfPes())
-                        > list[j].getCloudletLength() / (vm.getMips() * vm.getNumberOfPes())) {
-                    temp = list[j - 1];
-                    list[j - 1] = list[j];
-                    list[j] = temp;
-                }
-            }
+        for (Cloudlet cloudlet : cloudlets) {
+            int v = earliestFreeVm.poll();
+            narrowToVm(cloudlet, v);
+            expectedFinishTime[v] += (double) cloudlet.getCloudletLength() * cloudlet.getNumberOfPes() / capacity[v];
+            earliestFreeVm.add(v);
+
+            cloudlet.setVmId(vms.get(v).getId());
+            Log.printLine("Task" + cloudlet.getCloudletId() + " is bound with VM" + cloudlet.getVmId());
+        }
+    }
+
+    /**
+     * Online, arriving cloudlets wait shortest first and each VM that frees up takes the shortest one
+     */
+    @Override
+    protected Queue<Cloudlet> createWaitingQueue() {
+        return new PriorityQueue<>(Comparator.comparingLong(Cloudlet::getCloudletLength)
+                .thenComparingInt(Cloudlet::getCloudletId));
+    }
+
+    /**
+     * Sends the waiting cloudlets in shortest-job-first order to the VMs chosen by {@link #scheduleTaskstoVms()}
+     */
+    @Override
+    protected void submitCloudlets() {
+        if (getVmsCreatedList().isEmpty()) {
+            return;
         }
 
-        setCloudletReceivedList(List.of(list));
+        scheduleTaskstoVms();
+
+        for (Cloudlet cloudlet : getCloudletList()) {
+            Log.printLine(CloudSim.clock() + ": " + getName() + ": Sending cloudlet " + cloudlet.getCloudletId()
+                    + " to VM #" + cloudlet.getVmId());
+            sendNow(getVmsToDatacentersMap().get(cloudlet.getVmId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+            cloudletsSubmitted++;
+            getCloudletSubmittedList().add(cloudlet);
+        }
+
+        getCloudletList().clear();
+    }
+
+    /**
+     * Orders the received cloudlets by their expected execution time on the VM they ran on
+     */
+    protected void sortReceivedCloudlets() {
+        Map<Integer, Double> capacity = new HashMap<>();
+        for (Vm vm : getVmsCreatedList()) {
+            capacity.put(vm.getId(), vm.getMips() * vm.getNumberOfPes());
+        }
+
+        List<Cloudlet> list = new ArrayList<>(getCloudletReceivedList());
+        list.sort(Comparator.comparingDouble((Cloudlet c) ->
+                (double) c.getCloudletLength() * c.getNumberOfPes() / capacity.getOrDefault(c.getVmId(), 1.0)));
+
+        setCloudletReceivedList(list);
     }
 
     @Override
     protected void processCloudletReturn(SimEvent ev) {
+        if (isOnline()) {
+            super.processCloudletReturn(ev);
+            return;
+        }
+
         Cloudlet cloudlet = (Cloudlet) ev.getData();
         getCloudletReceivedList().add(cloudlet);
         Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloudlet " + cloudlet.getCloudletId()
                 + " received");
         cloudletsSubmitted--;
         if (getCloudletList().size() == 0 && cloudletsSubmitted == 0) {
-            scheduleTaskstoVms();
+            sortReceivedCloudlets();
             cloudletExecution(cloudlet);
         }
     }
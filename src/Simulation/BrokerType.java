@@ -0,0 +1,206 @@
+package Simulation;
+
+import AntColony.AntColonyConfig;
+import ActiveMonitoring.ActiveMonitoringDatacenterBroker;
+import AntColony.AntColonyDatacenterBroker;
+import FirstComeFirstServe.FCFSDatacenterBroker;
+import GeneticAlgorithm.GeneticAlgorithmConfig;
+import GeneticAlgorithm.GeneticAlgorithmDatacenterBroker;
+import LeastLoaded.LeastLoadedDatacenterBroker;
+import MaxMin.MaxMinDatacenterBroker;
+import MinMin.MinMinDatacenterBroker;
+import ParticleSwarm.ParticleSwarmConfig;
+import ParticleSwarm.ParticleSwarmDatacenterBroker;
+import Priority.PriorityDatacenterBroker;
+import RoundRobin.RoundRobinDatacenterBroker;
+import RoundRobin.TimeQuantumDatacenterBroker;
+import RoundRobin.WeightedRoundRobinDatacenterBroker;
+import ShortestJobFirst.ShortestJobFirstDatacenterBroker;
+import Throttled.ThrottledDatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterBroker;
+
+/**
+ * The load balancing policies that can be simulated, in the order they are compared
+ */
+public enum BrokerType {
+
+    ROUND_ROBIN("RoundRobinDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new RoundRobinDatacenterBroker(name);
+        }
+    },
+
+    WEIGHTED_ROUND_ROBIN("WeightedRoundRobinDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new WeightedRoundRobinDatacenterBroker(name);
+        }
+    },
+
+    TIME_QUANTUM("TimeQuantumDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new TimeQuantumDatacenterBroker(name);
+        }
+    },
+
+    SHORTEST_JOB_FIRST("ShortestJobFirstDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new ShortestJobFirstDatacenterBroker(name);
+        }
+    },
+
+    PRIORITY("PriorityDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new PriorityDatacenterBroker(name, seed);
+        }
+    },
+
+    FIRST_COME_FIRST_SERVE("FirstComeFirstServeDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new FCFSDatacenterBroker(name);
+        }
+    },
+
+    GENETIC_ALGORITHM("GeneticAlgorithmDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+            config.setSeed(seed);
+            return new GeneticAlgorithmDatacenterBroker(name, config);
+        }
+    },
+
+    LEAST_LOADED("LeastLoadedDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new LeastLoadedDatacenterBroker(name);
+        }
+    },
+
+    POWER_OF_TWO_CHOICES("PowerOfTwoChoicesDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new LeastLoadedDatacenterBroker(name, LeastLoadedDatacenterBroker.Mode.POWER_OF_TWO_CHOICES,
+                    seed != null ? seed : System.nanoTime());
+        }
+    },
+
+    MIN_MIN("MinMinDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new MinMinDatacenterBroker(name);
+        }
+    },
+
+    MAX_MIN("MaxMinDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new MaxMinDatacenterBroker(name);
+        }
+    },
+
+    ANT_COLONY("AntColonyDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            AntColonyConfig config = new AntColonyConfig();
+            config.setSeed(seed);
+            return new AntColonyDatacenterBroker(name, config);
+        }
+    },
+
+    PARTICLE_SWARM("ParticleSwarmDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            ParticleSwarmConfig config = new ParticleSwarmConfig();
+            config.setSeed(seed);
+            return new ParticleSwarmDatacenterBroker(name, config);
+        }
+    },
+
+    THROTTLED("ThrottledDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new ThrottledDatacenterBroker(name);
+        }
+    },
+
+    ACTIVE_MONITORING("ActiveMonitoringDatacenterBroker") {
+        @Override
+        public DatacenterBroker create(String name, Long seed) throws Exception {
+            return new ActiveMonitoringDatacenterBroker(name);
+        }
+    };
+
+    private final String brokerName;
+
+    BrokerType(String brokerName) {
+        this.brokerName = brokerName;
+    }
+
+    /**
+     * @return the name given to the broker entity in a comparison
+     */
+    public String getBrokerName() {
+        return brokerName;
+    }
+
+    public DatacenterBroker create(Long seed) throws Exception {
+        return create(brokerName, seed);
+    }
+
+    /**
+     * @param seed  seed of the random choices of the broker, null for a different run every time
+     */
+    public abstract DatacenterBroker create(String name, Long seed) throws Exception;
+
+    /**
+     * Accepts the constant name (SHORTEST_JOB_FIRST), the package name
+     * (ShortestJobFirst) or the broker name, ignoring case, dashes and underscores
+     */
+    public static BrokerType parse(String value) {
+        String key = normalize(value);
+        for (BrokerType type : values()) {
+            if (normalize(type.name()).equals(key) || normalize(type.brokerName).equals(key)
+                    || normalize(type.brokerName).equals(key + "datacenterbroker")) {
+                return type;
+            }
+        }
+        if (key.equals("fcfs")) {
+            return FIRST_COME_FIRST_SERVE;
+        }
+        if (key.equals("sjf")) {
+            return SHORTEST_JOB_FIRST;
+        }
+        if (key.equals("rr")) {
+            return ROUND_ROBIN;
+        }
+        if (key.equals("wrr")) {
+            return WEIGHTED_ROUND_ROBIN;
+        }
+        if (key.equals("tq") || key.equals("quantum")) {
+            return TIME_QUANTUM;
+        }
+        if (key.equals("ga")) {
+            return GENETIC_ALGORITHM;
+        }
+        if (key.equals("p2c")) {
+            return POWER_OF_TWO_CHOICES;
+        }
+        if (key.equals("aco")) {
+            return ANT_COLONY;
+        }
+        if (key.equals("pso")) {
+            return PARTICLE_SWARM;
+        }
+        throw new IllegalArgumentException("Unknown broker: " + value);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replace("_", "").replace("-", "").toLowerCase();
+    }
+}
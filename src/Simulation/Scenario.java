@@ -0,0 +1,47 @@
+package Simulation;
+
+/**
+ * Sizes of one simulation run
+ */
+public class Scenario {
+    private final int numUsers;
+    private final int numberOfDatacenters;
+    private final int numberOfVm;
+    private final int numberOfCloudlet;
+
+    public Scenario(int numUsers, int numberOfDatacenters, int numberOfVm, int numberOfCloudlet) {
+        this.numUsers = numUsers;
+        this.numberOfDatacenters = numberOfDatacenters;
+        this.numberOfVm = numberOfVm;
+        this.numberOfCloudlet = numberOfCloudlet;
+    }
+
+    public int getNumUsers() {
+        return numUsers;
+    }
+
+    public int getNumberOfDatacenters() {
+        return numberOfDatacenters;
+    }
+
+    public int getNumberOfVm() {
+        return numberOfVm;
+    }
+
+    public int getNumberOfCloudlet() {
+        return numberOfCloudlet;
+    }
+
+    /**
+     * @return the sizes as part of a file name, e.g. 1u-2dc-10vm-500cl
+     */
+    public String toFileName() {
+        return numUsers + "u-" + numberOfDatacenters + "dc-" + numberOfVm + "vm-" + numberOfCloudlet + "cl";
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + numUsers + ", datacenters=" + numberOfDatacenters
+                + ", vms=" + numberOfVm + ", cloudlets=" + numberOfCloudlet;
+    }
+}
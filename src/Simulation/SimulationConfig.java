@@ -0,0 +1,365 @@
+package Simulation;
+
+import Online.OnlineDatacenterBroker;
+import Online.WorkStealing;
+import Placement.VmPlacement;
+import RoundRobin.TimeQuantumDatacenterBroker;
+import Throttled.ThrottledDatacenterBroker;
+import Topology.TopologyBuilder;
+import Workload.WorkloadGenerator;
+import org.cloudbus.cloudsim.DatacenterBroker;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Parameters of a headless run, read from command-line flags and an optional
+ * properties file. Flags override the file. Every size accepts a comma
+ * separated list, and the run sweeps every combination of them.
+ * <pre>
+ *   --config FILE         properties file with the keys below (without the dashes)
+ *   --users N             number of grid users (default 1)
+ *   --datacenters N,...   number of datacenters
+ *   --vms N,...           number of VMs
+ *   --cloudlets N,...     number of cloudlets
+ *   --brokers B,...       brokers to run, e.g. RoundRobin,SJF,GeneticAlgorithm (default all)
+ *   --seed N              seed of the random choices of the brokers
+ *   --output FILE         file the summary of every run is written to as CSV
+ *   --metrics FILE        file every cloudlet is recorded in, as JSON Lines if it ends in .jsonl, CSV otherwise
+ *   --workload FILE       properties file of a synthetic workload, see WorkloadGenerator.fromProperties
+ *   --trace FILE          SWF (.swf) or CSV job trace to replay; --cloudlets caps the number of jobs, 0 for all
+ *   --online              release the cloudlets at their arrival times and let the brokers dispatch them one by one
+ *   --quantum SECONDS     time slice of the TimeQuantum broker (default 1)
+ *   --context-switch SECONDS  idle time of the PEs at every preemption of the TimeQuantum broker (default 0.01)
+ *   --throttle N          cloudlets a VM of the Throttled broker runs at once (default 0, as many as it has PEs)
+ *   --topology FILE       properties file of the hosts of every datacenter, see TopologyBuilder.fromProperties
+ *   --placement P         how datacenters place VMs on hosts: simple, first-fit, best-fit or dot-product (default simple)
+ *   --work-stealing       let VMs that run out of work take the cloudlets other VMs have not started
+ *   --steal-threshold N   cloudlets a VM must have queued before others steal from it (default 2)
+ *   --steal-batch N       cloudlets taken in one steal at most (default 8)
+ *   --sequential          run the compared brokers one after another in this JVM
+ * </pre>
+ */
+public class SimulationConfig {
+    public static final String USAGE = "Usage: [--config FILE] [--users N] --datacenters N[,N...] --vms N[,N...]"
+            + " --cloudlets N[,N...] [--brokers B[,B...]] [--seed N] [--output FILE] [--metrics FILE] [--workload FILE] [--trace FILE] [--online]"
+            + " [--quantum SECONDS] [--context-switch SECONDS] [--throttle N] [--topology FILE] [--placement P] [--work-stealing] [--steal-threshold N] [--steal-batch N] [--sequential]";
+
+    private static final Set<String> KEYS = new HashSet<>(Arrays.asList(
+            "config", "users", "datacenters", "vms", "cloudlets", "brokers", "broker", "seed", "output", "metrics", "workload", "trace", "online",
+            "quantum", "context-switch", "throttle", "topology", "placement", "work-stealing", "steal-threshold", "steal-batch", "sequential"));
+
+    private List<Integer> users = Collections.singletonList(1);
+    private List<Integer> datacenters = Collections.emptyList();
+    private List<Integer> vms = Collections.emptyList();
+    private List<Integer> cloudlets = Collections.emptyList();
+    private List<BrokerType> brokers = Arrays.asList(BrokerType.values());
+    private Long seed = null;
+    private String output = null;
+    private String metrics = null;
+    private String workload = null;
+    private String trace = null;
+    private boolean online = false;
+    private double quantum = TimeQuantumDatacenterBroker.DEFAULT_QUANTUM;
+    private double contextSwitch = TimeQuantumDatacenterBroker.DEFAULT_CONTEXT_SWITCH;
+    private int throttle = 0;
+    private String topology = null;
+    private VmPlacement placement = null;      // null leaves it to the topology
+    private boolean workStealing = false;
+    private int stealThreshold = WorkStealing.DEFAULT_THRESHOLD;
+    private int stealBatch = WorkStealing.DEFAULT_BATCH_SIZE;
+    private boolean sequential = false;
+
+    /**
+     * @return whether any option besides --sequential was given, i.e. the run must not prompt on stdin
+     */
+    public static boolean isHeadless(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--") && !arg.equals("--sequential")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static SimulationConfig parse(String[] args) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String key = arg.substring(2);
+            String value;
+            int equals = key.indexOf('=');
+            if (equals >= 0) {
+                value = key.substring(equals + 1);
+                key = key.substring(0, equals);
+            } else if (key.equals("sequential") || key.equals("online") || key.equals("work-stealing")) {
+                value = "true";
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + key);
+            }
+            values.put(key, value);
+        }
+
+        SimulationConfig config = new SimulationConfig();
+        if (values.containsKey("config")) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(values.get("config")))) {
+                properties.load(reader);
+            }
+            for (String key : properties.stringPropertyNames()) {
+                config.set(key, properties.getProperty(key));
+            }
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!entry.getKey().equals("config")) {
+                config.set(entry.getKey(), entry.getValue());
+            }
+        }
+        config.validate();
+        return config;
+    }
+
+    private void set(String key, String value) {
+        if (!KEYS.contains(key)) {
+            throw new IllegalArgumentException("Unknown option: " + key);
+        }
+        switch (key) {
+            case "users":
+                users = parseSizes(key, value);
+                break;
+            case "datacenters":
+                datacenters = parseSizes(key, value);
+                break;
+            case "vms":
+                vms = parseSizes(key, value);
+                break;
+            case "cloudlets":
+                cloudlets = parseSizes(key, value);
+                break;
+            case "broker":
+            case "brokers":
+                List<BrokerType> types = new ArrayList<>();
+                for (String name : value.split(",")) {
+                    types.add(BrokerType.parse(name));
+                }
+                brokers = types;
+                break;
+            case "seed":
+                seed = Long.parseLong(value.trim());
+                break;
+            case "output":
+                output = value.trim();
+                break;
+            case "metrics":
+                metrics = value.trim();
+                break;
+            case "workload":
+                workload = value.trim();
+                break;
+            case "trace":
+                trace = value.trim();
+                break;
+            case "online":
+                online = Boolean.parseBoolean(value.trim());
+                break;
+            case "quantum":
+                quantum = Double.parseDouble(value.trim());
+                break;
+            case "context-switch":
+                contextSwitch = Double.parseDouble(value.trim());
+                break;
+            case "throttle":
+                throttle = Integer.parseInt(value.trim());
+                break;
+            case "topology":
+                topology = value.trim();
+                break;
+            case "placement":
+                placement = VmPlacement.parse(value);
+                break;
+            case "work-stealing":
+                workStealing = Boolean.parseBoolean(value.trim());
+                break;
+            case "steal-threshold":
+                stealThreshold = Integer.parseInt(value.trim());
+                break;
+            case "steal-batch":
+                stealBatch = Integer.parseInt(value.trim());
+                break;
+            case "sequential":
+                sequential = Boolean.parseBoolean(value.trim());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static List<Integer> parseSizes(String key, String value) {
+        List<Integer> sizes = new ArrayList<>();
+        for (String size : value.split(",")) {
+            int parsed = Integer.parseInt(size.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Negative value for " + key + ": " + parsed);
+            }
+            sizes.add(parsed);
+        }
+        return sizes;
+    }
+
+    private void validate() {
+        if (datacenters.isEmpty() || vms.isEmpty() || cloudlets.isEmpty()) {
+            throw new IllegalArgumentException("datacenters, vms and cloudlets are required");
+        }
+        if (brokers.isEmpty()) {
+            throw new IllegalArgumentException("at least one broker is required");
+        }
+        if (!(quantum > 0)) {
+            throw new IllegalArgumentException("quantum must be positive");
+        }
+        if (!(contextSwitch >= 0)) {
+            throw new IllegalArgumentException("context-switch cannot be negative");
+        }
+        if (throttle < 0) {
+            throw new IllegalArgumentException("throttle cannot be negative");
+        }
+        if (stealThreshold < 1 || stealBatch < 1) {
+            throw new IllegalArgumentException("steal-threshold and steal-batch must be at least 1");
+        }
+    }
+
+    /**
+     * @return every combination of the configured sizes
+     */
+    public List<Scenario> getScenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (int numUsers : users) {
+            for (int numberOfDatacenters : datacenters) {
+                for (int numberOfVm : vms) {
+                    for (int numberOfCloudlet : cloudlets) {
+                        scenarios.add(new Scenario(numUsers, numberOfDatacenters, numberOfVm, numberOfCloudlet));
+                    }
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    public List<BrokerType> getBrokers() {
+        return brokers;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public String getMetrics() {
+        return metrics;
+    }
+
+    public String getWorkload() {
+        return workload;
+    }
+
+    /**
+     * @return the generator described by the --workload file, seeded with --seed unless the file sets one, or null
+     */
+    public WorkloadGenerator createWorkloadGenerator() throws IOException {
+        return workload != null ? loadWorkload(workload, seed) : null;
+    }
+
+    public static WorkloadGenerator loadWorkload(String file, Long seed) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Paths.get(file))) {
+            properties.load(reader);
+        }
+        WorkloadGenerator generator = WorkloadGenerator.fromProperties(properties);
+        if (seed != null && !properties.containsKey("workload.seed")) {
+            generator.setSeed(seed);
+        }
+        return generator;
+    }
+
+    public String getTrace() {
+        return trace;
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public double getQuantum() {
+        return quantum;
+    }
+
+    public double getContextSwitch() {
+        return contextSwitch;
+    }
+
+    public int getThrottle() {
+        return throttle;
+    }
+
+    public String getTopology() {
+        return topology;
+    }
+
+    /**
+     * @return the builder of the datacenters described by the --topology file, or of the default ones,
+     *         placing VMs as --placement says if it was given
+     */
+    public TopologyBuilder createTopology() throws IOException {
+        TopologyBuilder builder = new TopologyBuilder();
+        if (topology != null) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(topology))) {
+                properties.load(reader);
+            }
+            builder = TopologyBuilder.fromProperties(properties);
+        }
+        if (placement != null) {
+            builder.setPlacement(placement);
+        }
+        return builder;
+    }
+
+    /**
+     * @return the work stealing of the brokers, or null if it is off
+     */
+    public WorkStealing getWorkStealing() {
+        return workStealing ? new WorkStealing(stealThreshold, stealBatch) : null;
+    }
+
+    /**
+     * Creates the broker with the seed, quantum, throttle and work stealing of this run
+     */
+    public DatacenterBroker createBroker(BrokerType type, String name) throws Exception {
+        DatacenterBroker broker = type.create(name, seed);
+        if (broker instanceof TimeQuantumDatacenterBroker) {
+            ((TimeQuantumDatacenterBroker) broker).setQuantum(quantum);
+            ((TimeQuantumDatacenterBroker) broker).setContextSwitch(contextSwitch);
+        }
+        if (broker instanceof ThrottledDatacenterBroker) {
+            ((ThrottledDatacenterBroker) broker).setThreshold(throttle);
+        }
+        if (broker instanceof OnlineDatacenterBroker) {
+            ((OnlineDatacenterBroker) broker).setWorkStealing(getWorkStealing());
+        }
+        return broker;
+    }
+
+    public boolean isSequential() {
+        return sequential;
+    }
+}
@@ -0,0 +1,156 @@
+package Throttled;
+
+import Online.OnlineDatacenterBroker;
+import Workload.TimedCloudlet;
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A Broker that caps the number of cloudlets every VM runs at once. Each
+ * cloudlet goes to the first VM, in index order, below its cap; when every VM
+ * is at its cap the cloudlet waits at the broker until one of them returns a
+ * cloudlet, in arrival order.
+ * <p>
+ * The VMs below their cap are kept in a bit set that is updated when a
+ * cloudlet is sent or returns, so finding the first available VM is a scan of
+ * a few words rather than of the VM list.
+ */
+public class ThrottledDatacenterBroker extends OnlineDatacenterBroker {
+
+    private int threshold = 0;
+
+    private int[] active;       // cloudlets sent to each VM and not returned yet
+    private int[] limit;        // cap of each VM
+    private int[] vmPes;
+    private int maxPes;
+    private final BitSet available = new BitSet();
+
+    public ThrottledDatacenterBroker(String name) throws Exception {
+        super(name);
+    }
+
+    /**
+     * @param threshold  cloudlets a VM runs at once at most, 0 for as many as it has PEs
+     */
+    public ThrottledDatacenterBroker(String name, int threshold) throws Exception {
+        super(name);
+        setThreshold(threshold);
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @param threshold  cloudlets a VM runs at once at most, 0 for as many as it has PEs
+     */
+    public void setThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold cannot be negative");
+        }
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void onVmsReady() {
+        List<Vm> vms = getOnlineVms();
+        active = new int[vms.size()];
+        limit = new int[vms.size()];
+        vmPes = new int[vms.size()];
+        maxPes = 0;
+        available.clear();
+
+        for (int v = 0; v < vms.size(); v++) {
+            vmPes[v] = vms.get(v).getNumberOfPes();
+            maxPes = Math.max(maxPes, vmPes[v]);
+            limit[v] = threshold > 0 ? threshold : vmPes[v];
+            available.set(v);
+        }
+    }
+
+    /**
+     * @return the first VM below its cap that the cloudlet fits on, or -1 to make it wait
+     */
+    @Override
+    protected int selectVm(Cloudlet cloudlet) {
+        if (!getWaitingQueue().isEmpty()) {
+            return -1;
+        }
+        for (int v = available.nextSetBit(0); v >= 0; v = available.nextSetBit(v + 1)) {
+            if (fits(cloudlet, v)) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether the VM has the PEs the cloudlet needs, or no VM has and this one is as good as any
+     */
+    private boolean fits(Cloudlet cloudlet, int v) {
+        return vmPes[v] >= cloudlet.getNumberOfPes() || cloudlet.getNumberOfPes() > maxPes;
+    }
+
+    @Override
+    protected void sendToVm(Cloudlet cloudlet, int v) {
+        super.sendToVm(cloudlet, v);
+        setActive(v, active[v] + 1);
+    }
+
+    @Override
+    protected void onCloudletReturned(Cloudlet cloudlet, int v) {
+        setActive(v, active[v] - 1);
+    }
+
+    @Override
+    protected void onCloudletStolen(Cloudlet cloudlet, int from, int to) {
+        setActive(from, active[from] - 1);
+        setActive(to, active[to] + 1);
+    }
+
+    /**
+     * Hands waiting cloudlets, in arrival order, to the VM while it stays below its cap and they fit on it
+     */
+    @Override
+    protected void serveWaiting(int v) {
+        while (!getWaitingQueue().isEmpty() && available.get(v) && fits(getWaitingQueue().peek(), v)) {
+            sendToVm(getWaitingQueue().poll(), v);
+        }
+    }
+
+    /**
+     * Sends the batch in submission order, the cloudlets that find every VM at its cap waiting for a return
+     */
+    @Override
+    protected void submitCloudlets() {
+        initVmState();
+        if (getOnlineVms().isEmpty()) {
+            return;
+        }
+
+        for (Cloudlet cloudlet : new ArrayList<Cloudlet>(getCloudletList())) {
+            int v = selectVm(cloudlet);
+            if (v >= 0) {
+                sendToVm(cloudlet, v);
+            } else {
+                if (cloudlet instanceof TimedCloudlet && Double.isNaN(((TimedCloudlet) cloudlet).getReleaseTime())) {
+                    // the datacenter only sees it once it leaves the queue, response times must count the wait here too
+                    ((TimedCloudlet) cloudlet).setReleaseTime(CloudSim.clock());
+                }
+                getWaitingQueue().add(cloudlet);
+            }
+        }
+
+        getCloudletList().clear();
+    }
+
+    private void setActive(int v, int count) {
+        active[v] = Math.max(0, count);
+        available.set(v, active[v] < limit[v]);
+    }
+}
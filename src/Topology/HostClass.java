@@ -0,0 +1,132 @@
+package Topology;
+
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.VmScheduler;
+import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A kind of host in a datacenter, and how many of them every datacenter has.
+ * The specification is immutable and shared by all the hosts built from it;
+ * only the provisioners, which track what is allocated on each host, are
+ * created per host.
+ */
+public class HostClass {
+
+    public enum Scheduler {
+        TIME_SHARED,
+        SPACE_SHARED
+    }
+
+    private final String name;
+    private final double[] peMips;
+    private final int ram;
+    private final long bw;
+    private final long storage;
+    private final Scheduler scheduler;
+    private final int count;
+
+    /**
+     * @param peMips  MIPS of every PE of the host
+     * @param count   hosts of this class in every datacenter
+     */
+    public HostClass(String name, double[] peMips, int ram, long bw, long storage, Scheduler scheduler, int count) {
+        if (peMips.length == 0 || ram <= 0 || bw <= 0 || storage <= 0 || count < 0) {
+            throw new IllegalArgumentException("Host class " + name + " needs PEs, positive ram, bw and storage and a count");
+        }
+        for (double mips : peMips) {
+            if (mips <= 0) {
+                throw new IllegalArgumentException("Host class " + name + " needs positive MIPS");
+            }
+        }
+        this.name = name;
+        this.peMips = peMips.clone();
+        this.ram = ram;
+        this.bw = bw;
+        this.storage = storage;
+        this.scheduler = scheduler;
+        this.count = count;
+    }
+
+    /**
+     * Parses a specification such as {@code quad:4:10500/11000/11500/10700:1002048:10000:1000000:time-shared:1000}
+     * @param specification  NAME:PES:MIPS:RAM:BW:STORAGE:SCHEDULER:COUNT, MIPS being one value for every PE or one
+     *                       per PE separated by slashes, SCHEDULER time-shared or space-shared
+     */
+    public static HostClass parse(String specification) {
+        String[] parts = specification.trim().split(":");
+        try {
+            if (parts.length != 8) {
+                throw new IllegalArgumentException("Invalid host class: " + specification);
+            }
+            int pes = Integer.parseInt(parts[1]);
+            String[] mips = parts[2].split("/");
+            if (mips.length != 1 && mips.length != pes) {
+                throw new IllegalArgumentException("Host class " + parts[0] + " needs one MIPS value or one per PE");
+            }
+            double[] peMips = new double[pes];
+            for (int i = 0; i < pes; i++) {
+                peMips[i] = Double.parseDouble(mips[mips.length == 1 ? 0 : i]);
+            }
+            Scheduler scheduler = Scheduler.valueOf(parts[6].trim().replace("-", "_").toUpperCase());
+            return new HostClass(parts[0], peMips, Integer.parseInt(parts[3]), Long.parseLong(parts[4]),
+                    Long.parseLong(parts[5]), scheduler, Integer.parseInt(parts[7]));
+        } catch (NegativeArraySizeException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid host class: " + specification, e);
+        }
+    }
+
+    /**
+     * Builds a host of this class with its own provisioners
+     */
+    public Host createHost(int id) {
+        List<Pe> peList = new ArrayList<>(peMips.length);
+        for (int i = 0; i < peMips.length; i++) {
+            peList.add(new Pe(i, new PeProvisionerSimple(peMips[i])));
+        }
+        VmScheduler vmScheduler = scheduler == Scheduler.SPACE_SHARED
+                ? new VmSchedulerSpaceShared(peList)
+                : new VmSchedulerTimeShared(peList);
+        return new Host(id, new RamProvisionerSimple(ram), new BwProvisionerSimple(bw), storage, peList, vmScheduler);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPes() {
+        return peMips.length;
+    }
+
+    public double[] getPeMips() {
+        return Arrays.copyOf(peMips, peMips.length);
+    }
+
+    public int getRam() {
+        return ram;
+    }
+
+    public long getBw() {
+        return bw;
+    }
+
+    public long getStorage() {
+        return storage;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,162 @@
+package Topology;
+
+import Placement.VmPlacement;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Storage;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the datacenters of a simulation from a list of host classes, every
+ * datacenter getting the hosts of every class, numbered in class order.
+ * <p>
+ * Hosts are plain objects, so those of all the datacenters are built in
+ * parallel; the datacenters themselves register with CloudSim when they are
+ * created, which is not thread-safe, so they are created one after another.
+ * <p>
+ * By default every datacenter is the one LoadBalancer always simulated: a
+ * quad-core and a dual-core host, time-shared, placing VMs with CloudSim's
+ * VmAllocationPolicySimple.
+ */
+public class TopologyBuilder {
+    private List<HostClass> hostClasses = Arrays.asList(
+            new HostClass("quad", new double[]{10500, 11000, 11500, 10700}, 1002048, 10000, 1000000,
+                    HostClass.Scheduler.TIME_SHARED, 1),
+            new HostClass("dual", new double[]{10700, 10900}, 1002048, 10000, 1000000,
+                    HostClass.Scheduler.TIME_SHARED, 1));
+    private VmPlacement placement = VmPlacement.SIMPLE;
+    private boolean parallel = true;
+
+    private final String arch = "x86";              // system architecture
+    private final String os = "Linux";              // operating system
+    private final String vmm = "Xen";
+    private final double timeZone = 10.0;           // time zone the datacenters are located in
+    private final double cost = 3.0;                // the cost of using processing
+    private final double costPerMem = 0.05;         // the cost of using memory
+    private final double costPerStorage = 0.1;      // the cost of using storage
+    private final double costPerBw = 0.1;           // the cost of using bw
+
+    /**
+     * Reads the builder from properties, every key being optional:
+     * <pre>
+     *   topology.hosts      host classes, see {@link HostClass#parse(String)}, separated by commas
+     *   topology.placement  how VMs are placed on the hosts, see {@link VmPlacement#parse(String)}
+     * </pre>
+     */
+    public static TopologyBuilder fromProperties(Properties properties) {
+        TopologyBuilder builder = new TopologyBuilder();
+
+        String value = properties.getProperty("topology.hosts");
+        if (value != null) {
+            List<HostClass> classes = new ArrayList<>();
+            for (String hostClass : value.split(",")) {
+                classes.add(HostClass.parse(hostClass));
+            }
+            builder.setHostClasses(classes);
+        }
+        value = properties.getProperty("topology.placement");
+        if (value != null) {
+            builder.setPlacement(VmPlacement.parse(value));
+        }
+        return builder;
+    }
+
+    /**
+     * Creates the datacenters, named {@code Datacenter_0} onwards
+     */
+    public List<Datacenter> createDatacenters(int numberOfDatacenters) {
+        List<List<Host>> hostLists = createHostLists(numberOfDatacenters);
+
+        List<Datacenter> datacenters = new ArrayList<>(numberOfDatacenters);
+        for (int i = 0; i < numberOfDatacenters; i++) {
+            datacenters.add(createDatacenter("Datacenter_" + i, hostLists.get(i)));
+        }
+        return datacenters;
+    }
+
+    public Datacenter createDatacenter(String name) {
+        return createDatacenter(name, createHostLists(1).get(0));
+    }
+
+    private Datacenter createDatacenter(String name, List<Host> hostList) {
+        DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+                arch, os, vmm, hostList, timeZone, cost, costPerMem, costPerStorage, costPerBw);
+        try {
+            return new Datacenter(name, characteristics, placement.create(hostList), new LinkedList<Storage>(), 0);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create " + name, e);
+        }
+    }
+
+    /**
+     * @return the hosts of every datacenter, built in parallel over all the datacenters
+     */
+    private List<List<Host>> createHostLists(int numberOfDatacenters) {
+        int hostsPerDatacenter = getHostsPerDatacenter();
+        HostClass[] classOfHost = new HostClass[hostsPerDatacenter];
+        int next = 0;
+        for (HostClass hostClass : hostClasses) {
+            for (int i = 0; i < hostClass.getCount(); i++) {
+                classOfHost[next++] = hostClass;
+            }
+        }
+
+        Host[] hosts = new Host[numberOfDatacenters * hostsPerDatacenter];
+        IntStream indices = IntStream.range(0, hosts.length);
+        (parallel ? indices.parallel() : indices).forEach(i -> {
+            int id = i % hostsPerDatacenter;
+            hosts[i] = classOfHost[id].createHost(id);
+        });
+
+        List<List<Host>> hostLists = new ArrayList<>(numberOfDatacenters);
+        for (int i = 0; i < numberOfDatacenters; i++) {
+            hostLists.add(new ArrayList<>(Arrays.asList(hosts).subList(i * hostsPerDatacenter, (i + 1) * hostsPerDatacenter)));
+        }
+        return hostLists;
+    }
+
+    public int getHostsPerDatacenter() {
+        int hosts = 0;
+        for (HostClass hostClass : hostClasses) {
+            hosts += hostClass.getCount();
+        }
+        return hosts;
+    }
+
+    public List<HostClass> getHostClasses() {
+        return hostClasses;
+    }
+
+    public void setHostClasses(List<HostClass> hostClasses) {
+        int hosts = 0;
+        for (HostClass hostClass : hostClasses) {
+            hosts += hostClass.getCount();
+        }
+        if (hosts == 0) {
+            throw new IllegalArgumentException("every datacenter needs at least one host");
+        }
+        this.hostClasses = new ArrayList<>(hostClasses);
+    }
+
+    public VmPlacement getPlacement() {
+        return placement;
+    }
+
+    public void setPlacement(VmPlacement placement) {
+        this.placement = placement;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * @param parallel  whether the hosts are built on the common fork-join pool
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+}
@@ -0,0 +1,76 @@
+package Workload;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * Generates the times at which successive cloudlets arrive
+ */
+@FunctionalInterface
+public interface ArrivalProcess {
+
+    /**
+     * @return a new, endless sequence of non-decreasing arrival times starting at 0
+     */
+    PrimitiveIterator.OfDouble arrivals(Random random);
+
+    /**
+     * Every cloudlet is there at the start, as with a static batch
+     */
+    static ArrivalProcess batch() {
+        return random -> new PrimitiveIterator.OfDouble() {
+            @Override
+            public double nextDouble() {
+                return 0;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @param rate  mean number of arrivals per unit of simulated time
+     */
+    static ArrivalProcess poisson(double rate) {
+        return new MmppArrivalProcess(new double[]{rate}, new double[]{0});
+    }
+
+    /**
+     * Parses a specification such as {@code poisson:5} or {@code mmpp:20,1:0.1,0.05}
+     * <pre>
+     *   batch
+     *   poisson:RATE
+     *   mmpp:RATE,RATE,...:SWITCH_RATE,SWITCH_RATE,...
+     * </pre>
+     */
+    static ArrivalProcess parse(String specification) {
+        String[] parts = specification.trim().split(":");
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "batch":
+                    return batch();
+                case "poisson":
+                    return poisson(Double.parseDouble(parts[1]));
+                case "mmpp":
+                    return new MmppArrivalProcess(parseRates(parts[1]), parseRates(parts[2]));
+                default:
+                    break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid arrival process: " + specification, e);
+        }
+        throw new IllegalArgumentException("Unknown arrival process: " + specification);
+    }
+
+    static double[] parseRates(String rates) {
+        String[] values = rates.split(",");
+        double[] parsed = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parsed[i] = Double.parseDouble(values[i].trim());
+        }
+        return parsed;
+    }
+}
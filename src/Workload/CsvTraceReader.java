@@ -0,0 +1,194 @@
+package Workload;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads comma separated job traces such as those published by Google and
+ * Alibaba. Columns are looked up by name in the header row, or given by their
+ * position when the trace has no header. The run time comes either from a
+ * duration column or from an end time column.
+ */
+public class CsvTraceReader extends TraceReader {
+    private boolean header = true;
+    private String submitColumn = "submit_time";
+    private String runTimeColumn = "runtime";
+    private String endTimeColumn = null;
+    private String pesColumn = "cpus";
+    private String priorityColumn = "priority";
+    private double pesDivisor = 1;      // e.g. 100 when the CPU request is in percent of a core
+
+    private int submitIndex = -1;
+    private int runTimeIndex = -1;
+    private int endTimeIndex = -1;
+    private int pesIndex = -1;
+    private int priorityIndex = -1;
+    private boolean resolved = false;
+
+    public CsvTraceReader(Path path) throws IOException {
+        super(path);
+    }
+
+    /**
+     * Alibaba cluster-trace batch_task.csv: no header, start and end time in
+     * seconds in columns 5 and 6, CPU request in percent of a core in column 7
+     */
+    public static CsvTraceReader alibaba(Path path) throws IOException {
+        CsvTraceReader reader = new CsvTraceReader(path);
+        reader.setHeader(false);
+        reader.setSubmitColumn("5");
+        reader.setRunTimeColumn(null);
+        reader.setEndTimeColumn("6");
+        reader.setPesColumn("7");
+        reader.setPriorityColumn(null);
+        reader.setPesDivisor(100);
+        return reader;
+    }
+
+    @Override
+    protected boolean parse(String line, Job job) {
+        if (line.isEmpty()) {
+            return false;
+        }
+        String[] fields = line.split(",", -1);
+        if (!resolved) {
+            resolved = true;
+            resolveColumns(header ? Arrays.asList(fields) : null);
+            if (header) {
+                return false;
+            }
+        }
+
+        String submit = field(fields, submitIndex);
+        if (submit == null) {
+            return false;
+        }
+        job.submitTime = Double.parseDouble(submit);
+
+        if (runTimeIndex >= 0) {
+            String runTime = field(fields, runTimeIndex);
+            if (runTime == null) {
+                return false;
+            }
+            job.runTime = Double.parseDouble(runTime);
+        } else {
+            String endTime = field(fields, endTimeIndex);
+            if (endTime == null) {
+                return false;
+            }
+            job.runTime = Double.parseDouble(endTime) - job.submitTime;
+        }
+
+        String pes = field(fields, pesIndex);
+        if (pes != null) {
+            job.pes = (int) Math.ceil(Double.parseDouble(pes) / pesDivisor);
+        }
+        String priority = field(fields, priorityIndex);
+        if (priority != null) {
+            job.priority = (int) Double.parseDouble(priority);
+        }
+        return true;
+    }
+
+    private void resolveColumns(List<String> names) {
+        submitIndex = index(names, submitColumn, true);
+        runTimeIndex = index(names, runTimeColumn, endTimeColumn == null);
+        endTimeIndex = runTimeIndex < 0 ? index(names, endTimeColumn, true) : -1;
+        pesIndex = index(names, pesColumn, false);
+        priorityIndex = index(names, priorityColumn, false);
+    }
+
+    private static int index(List<String> names, String column, boolean required) {
+        int index = -1;
+        if (column != null) {
+            if (names == null) {
+                index = Integer.parseInt(column);
+            } else {
+                for (int i = 0; i < names.size() && index < 0; i++) {
+                    if (names.get(i).trim().equalsIgnoreCase(column)) {
+                        index = i;
+                    }
+                }
+            }
+        }
+        if (index < 0 && required) {
+            throw new IllegalArgumentException("Trace has no column " + column);
+        }
+        return index;
+    }
+
+    /**
+     * @return the trimmed field, or null if it is missing or empty
+     */
+    private static String field(String[] fields, int index) {
+        if (index < 0 || index >= fields.length) {
+            return null;
+        }
+        String field = fields[index].trim();
+        return field.isEmpty() ? null : field;
+    }
+
+    public boolean isHeader() {
+        return header;
+    }
+
+    /**
+     * @param header  whether the first line names the columns; without it, columns are given by position
+     */
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    public String getSubmitColumn() {
+        return submitColumn;
+    }
+
+    public void setSubmitColumn(String submitColumn) {
+        this.submitColumn = submitColumn;
+    }
+
+    public String getRunTimeColumn() {
+        return runTimeColumn;
+    }
+
+    /**
+     * @param runTimeColumn  column of the duration of the jobs, null to use the end time column instead
+     */
+    public void setRunTimeColumn(String runTimeColumn) {
+        this.runTimeColumn = runTimeColumn;
+    }
+
+    public String getEndTimeColumn() {
+        return endTimeColumn;
+    }
+
+    public void setEndTimeColumn(String endTimeColumn) {
+        this.endTimeColumn = endTimeColumn;
+    }
+
+    public String getPesColumn() {
+        return pesColumn;
+    }
+
+    public void setPesColumn(String pesColumn) {
+        this.pesColumn = pesColumn;
+    }
+
+    public String getPriorityColumn() {
+        return priorityColumn;
+    }
+
+    public void setPriorityColumn(String priorityColumn) {
+        this.priorityColumn = priorityColumn;
+    }
+
+    public double getPesDivisor() {
+        return pesDivisor;
+    }
+
+    public void setPesDivisor(double pesDivisor) {
+        this.pesDivisor = pesDivisor;
+    }
+}
@@ -0,0 +1,77 @@
+package Workload;
+
+import java.util.Random;
+
+/**
+ * A random variable sampled for every generated cloudlet, e.g. its length in MI
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    /**
+     * @return the next value, drawn from the given random source
+     */
+    double sample(Random random);
+
+    static Distribution constant(double value) {
+        return random -> value;
+    }
+
+    static Distribution uniform(double min, double max) {
+        return random -> min + random.nextDouble() * (max - min);
+    }
+
+    static Distribution exponential(double mean) {
+        return random -> -mean * Math.log(1 - random.nextDouble());
+    }
+
+    /**
+     * Heavy-tailed: most values are close to the scale, a few are orders of magnitude larger
+     * @param scale  smallest value
+     * @param shape  tail index, the smaller the heavier the tail (the mean is infinite below 1)
+     */
+    static Distribution pareto(double scale, double shape) {
+        return random -> scale / Math.pow(1 - random.nextDouble(), 1 / shape);
+    }
+
+    /**
+     * @param mu     mean of the logarithm of the values
+     * @param sigma  standard deviation of the logarithm of the values
+     */
+    static Distribution logNormal(double mu, double sigma) {
+        return random -> Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    /**
+     * Parses a specification such as {@code pareto:1000:1.5}
+     * <pre>
+     *   constant:VALUE
+     *   uniform:MIN:MAX
+     *   exponential:MEAN
+     *   pareto:SCALE:SHAPE
+     *   lognormal:MU:SIGMA
+     * </pre>
+     */
+    static Distribution parse(String specification) {
+        String[] parts = specification.trim().split(":");
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "constant":
+                    return constant(Double.parseDouble(parts[1]));
+                case "uniform":
+                    return uniform(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "exponential":
+                    return exponential(Double.parseDouble(parts[1]));
+                case "pareto":
+                    return pareto(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default:
+                    break;
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid distribution: " + specification, e);
+        }
+        throw new IllegalArgumentException("Unknown distribution: " + specification);
+    }
+}
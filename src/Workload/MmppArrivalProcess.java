@@ -0,0 +1,71 @@
+package Workload;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+/**
+ * Markov-modulated Poisson process: arrivals follow a Poisson process whose rate
+ * depends on a hidden state, which moves on to the next state after an
+ * exponentially distributed sojourn. A busy and a quiet state give bursty traffic.
+ */
+public class MmppArrivalProcess implements ArrivalProcess {
+    private final double[] rates;
+    private final double[] switchRates;
+
+    /**
+     * @param rates        arrival rate in each state
+     * @param switchRates  rate at which each state is left for the next one, 0 to stay forever
+     */
+    public MmppArrivalProcess(double[] rates, double[] switchRates) {
+        if (rates.length == 0 || rates.length != switchRates.length) {
+            throw new IllegalArgumentException("Every state needs an arrival rate and a switch rate");
+        }
+        for (int i = 0; i < rates.length; i++) {
+            if (rates[i] < 0 || switchRates[i] < 0) {
+                throw new IllegalArgumentException("Rates must not be negative");
+            }
+            if (rates[i] == 0 && switchRates[i] == 0) {
+                throw new IllegalArgumentException("State " + i + " would never produce an arrival");
+            }
+        }
+        this.rates = rates.clone();
+        this.switchRates = switchRates.clone();
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble arrivals(Random random) {
+        return new PrimitiveIterator.OfDouble() {
+            private int state = 0;
+            private double time = 0;
+            private double nextSwitch = sojourn(random, 0);
+
+            @Override
+            public double nextDouble() {
+                while (true) {
+                    double arrival = rates[state] > 0 ? time + exponential(random, rates[state]) : Double.POSITIVE_INFINITY;
+                    if (arrival <= nextSwitch) {
+                        time = arrival;
+                        return time;
+                    }
+                    // memoryless: the pending arrival is dropped and redrawn in the next state
+                    time = nextSwitch;
+                    state = (state + 1) % rates.length;
+                    nextSwitch = time + sojourn(random, state);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+        };
+    }
+
+    private double sojourn(Random random, int state) {
+        return switchRates[state] > 0 ? exponential(random, switchRates[state]) : Double.POSITIVE_INFINITY;
+    }
+
+    private static double exponential(Random random, double rate) {
+        return -Math.log(1 - random.nextDouble()) / rate;
+    }
+}
@@ -0,0 +1,72 @@
+package Workload;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads traces in the Standard Workload Format of the Parallel Workloads Archive:
+ * one job per line, 18 whitespace separated fields, comments starting with ';'.
+ * The queue number is taken as the priority of the job.
+ */
+public class SwfTraceReader extends TraceReader {
+    private static final int SUBMIT_TIME = 1;
+    private static final int RUN_TIME = 3;
+    private static final int ALLOCATED_PROCESSORS = 4;
+    private static final int REQUESTED_PROCESSORS = 7;
+    private static final int QUEUE_NUMBER = 14;
+    private static final int FIELDS = 18;
+
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+
+    public SwfTraceReader(Path path) throws IOException {
+        super(path);
+    }
+
+    @Override
+    protected boolean parse(String line, Job job) {
+        int fieldCount = split(line);
+        if (fieldCount == 0 || line.charAt(starts[0]) == ';' || fieldCount <= REQUESTED_PROCESSORS) {
+            return false;
+        }
+
+        job.submitTime = number(line, SUBMIT_TIME);
+        job.runTime = number(line, RUN_TIME);
+
+        int processors = (int) number(line, ALLOCATED_PROCESSORS);
+        job.pes = processors > 0 ? processors : (int) number(line, REQUESTED_PROCESSORS);
+
+        if (fieldCount > QUEUE_NUMBER) {
+            job.priority = Math.max(0, (int) number(line, QUEUE_NUMBER));
+        }
+        return true;
+    }
+
+    /**
+     * Finds the bounds of the whitespace separated fields, without allocating a string per field
+     * @return number of fields found, at most the number of fields of the format
+     */
+    private int split(String line) {
+        int count = 0;
+        int i = 0;
+        int length = line.length();
+        while (count < FIELDS && i < length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            starts[count] = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            ends[count++] = i;
+        }
+        return count;
+    }
+
+    private double number(String line, int field) {
+        return Double.parseDouble(line.substring(starts[field], ends[field]));
+    }
+}
@@ -0,0 +1,55 @@
+package Workload;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.UtilizationModel;
+
+/**
+ * A cloudlet that only exists from its arrival time on. Brokers scheduling a
+ * static batch ignore the arrival time; online brokers dispatch it when it arrives.
+ */
+public class TimedCloudlet extends Cloudlet {
+    private final double arrivalTime;
+    private final int priority;
+    private double releaseTime = Double.NaN;
+
+    public TimedCloudlet(int cloudletId, long cloudletLength, int pesNumber, long cloudletFileSize, long cloudletOutputSize,
+                         UtilizationModel utilizationModelCpu, UtilizationModel utilizationModelRam,
+                         UtilizationModel utilizationModelBw, double arrivalTime) {
+        this(cloudletId, cloudletLength, pesNumber, cloudletFileSize, cloudletOutputSize,
+                utilizationModelCpu, utilizationModelRam, utilizationModelBw, arrivalTime, 0);
+    }
+
+    public TimedCloudlet(int cloudletId, long cloudletLength, int pesNumber, long cloudletFileSize, long cloudletOutputSize,
+                         UtilizationModel utilizationModelCpu, UtilizationModel utilizationModelRam,
+                         UtilizationModel utilizationModelBw, double arrivalTime, int priority) {
+        super(cloudletId, cloudletLength, pesNumber, cloudletFileSize, cloudletOutputSize,
+                utilizationModelCpu, utilizationModelRam, utilizationModelBw);
+        this.arrivalTime = arrivalTime;
+        this.priority = priority;
+    }
+
+    /**
+     * @return simulated time at which the cloudlet is handed to the broker
+     */
+    public double getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * @return simulated time at which an online broker received the cloudlet, NaN if it was submitted as a batch
+     */
+    public double getReleaseTime() {
+        return releaseTime;
+    }
+
+    public void setReleaseTime(double releaseTime) {
+        this.releaseTime = releaseTime;
+    }
+
+    /**
+     * @return priority recorded in the trace the cloudlet was read from, 0 if none
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,214 @@
+package Workload;
+
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Replays a job trace as cloudlets, one record at a time. The file is read
+ * through a file channel into a fixed buffer, so only the current line is
+ * held in memory whatever the size of the trace. Submission times are rebased
+ * so the first job arrives at 0, and run times become lengths in MI at
+ * {@link #setMipsPerSecond(double)}.
+ */
+public abstract class TraceReader implements Iterator<TimedCloudlet>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] line = new byte[256];
+    private boolean endOfFile = false;
+
+    private final UtilizationModel utilizationModel = new UtilizationModelFull();
+    private int userId = 0;
+    private double mipsPerSecond = 1000;    // MIPS of the machines the trace was recorded on
+    private double timeScale = 1;           // seconds per trace time unit
+    private int maxPes = Integer.MAX_VALUE; // wider jobs are narrowed to this, keeping their total work
+    private long limit = Long.MAX_VALUE;
+
+    private double firstSubmission = Double.NaN;
+    private double lastArrival = 0;
+    private int nextId = 0;
+    private TimedCloudlet next;
+
+    protected TraceReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer.limit(0);
+    }
+
+    /**
+     * @return a SWF reader for .swf files, a CSV reader with a header row otherwise
+     */
+    public static TraceReader open(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".swf") ? new SwfTraceReader(path) : new CsvTraceReader(path);
+    }
+
+    /**
+     * Maps one line of the trace to a job
+     * @return false if the line holds no job, e.g. a comment, a header or a cancelled job
+     */
+    protected abstract boolean parse(String line, Job job);
+
+    /**
+     * The fields of a trace record a cloudlet is made of, in trace units
+     */
+    protected static class Job {
+        double submitTime;
+        double runTime;
+        int pes = 1;
+        int priority = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && nextId < limit) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public TimedCloudlet next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TimedCloudlet cloudlet = next;
+        next = null;
+        return cloudlet;
+    }
+
+    private TimedCloudlet readNext() throws IOException {
+        Job job = new Job();
+        String text;
+        while ((text = readLine()) != null) {
+            job.pes = 1;
+            job.priority = 0;
+            if (!parse(text, job) || job.runTime <= 0) {
+                continue;
+            }
+            if (Double.isNaN(firstSubmission)) {
+                firstSubmission = job.submitTime;
+            }
+            // traces are sorted by submission, but a few records may be out of order by a second or so
+            double arrivalTime = Math.max(lastArrival, (job.submitTime - firstSubmission) * timeScale);
+            lastArrival = arrivalTime;
+
+            int pes = Math.max(1, job.pes);
+            double length = job.runTime * timeScale * mipsPerSecond;
+            if (pes > maxPes) {
+                length = length * pes / maxPes;
+                pes = maxPes;
+            }
+
+            TimedCloudlet cloudlet = new TimedCloudlet(nextId++, Math.max(1, Math.round(length)), pes, 300, 300,
+                    utilizationModel, utilizationModel, utilizationModel, arrivalTime, job.priority);
+            cloudlet.setUserId(userId);
+            return cloudlet;
+        }
+        return null;
+    }
+
+    /**
+     * @return the next line without its terminator, or null at the end of the file
+     */
+    private String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                if (endOfFile) {
+                    return length > 0 ? decode(length) : null;
+                }
+                buffer.clear();
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                continue;
+            }
+            byte b = buffer.get();
+            if (b == '\n') {
+                return decode(length);
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+    }
+
+    private String decode(int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public double getMipsPerSecond() {
+        return mipsPerSecond;
+    }
+
+    public void setMipsPerSecond(double mipsPerSecond) {
+        this.mipsPerSecond = mipsPerSecond;
+    }
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * @param timeScale  seconds per time unit of the trace, e.g. 1e-6 for microseconds
+     */
+    public void setTimeScale(double timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    public int getMaxPes() {
+        return maxPes;
+    }
+
+    public void setMaxPes(int maxPes) {
+        if (maxPes <= 0) {
+            throw new IllegalArgumentException("maxPes must be positive");
+        }
+        this.maxPes = maxPes;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * @param limit  number of jobs replayed at most
+     */
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,69 @@
+package Workload;
+
+/**
+ * A kind of VM in a heterogeneous fleet, and its share of the VMs
+ */
+public class VmClass {
+    private final String name;
+    private final int mips;
+    private final int pes;
+    private final int ram;
+    private final long bw;
+    private final long size;
+    private final double weight;
+
+    public VmClass(String name, int mips, int pes, int ram, long bw, long size, double weight) {
+        if (mips <= 0 || pes <= 0 || weight <= 0) {
+            throw new IllegalArgumentException("VM class " + name + " needs positive mips, pes and weight");
+        }
+        this.name = name;
+        this.mips = mips;
+        this.pes = pes;
+        this.ram = ram;
+        this.bw = bw;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * Parses a specification such as {@code large:4000:4:2048:0.25}
+     * @param specification  NAME:MIPS:PES:RAM:WEIGHT, with the bandwidth and image size of LoadBalancer.createVM
+     */
+    public static VmClass parse(String specification) {
+        String[] parts = specification.trim().split(":");
+        try {
+            return new VmClass(parts[0], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                    Integer.parseInt(parts[3]), 1000, 10000, Double.parseDouble(parts[4]));
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid VM class: " + specification, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMips() {
+        return mips;
+    }
+
+    public int getPes() {
+        return pes;
+    }
+
+    public int getRam() {
+        return ram;
+    }
+
+    public long getBw() {
+        return bw;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
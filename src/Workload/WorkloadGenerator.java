@@ -0,0 +1,245 @@
+package Workload;
+
+import org.cloudbus.cloudsim.*;
+
+import java.util.*;
+
+/**
+ * Synthetic workloads: cloudlets with sampled lengths, PE counts and arrival
+ * times, and VMs drawn from a mix of VM classes. Cloudlets are produced lazily
+ * one at a time, so a workload of any size can be streamed without being held
+ * in memory. The same seed always yields the same workload.
+ * <p>
+ * By default the workload is the one of LoadBalancer.createCloudlet and createVM:
+ * single-PE cloudlets arriving at once, on single-PE VMs of 1000 MIPS.
+ */
+public class WorkloadGenerator {
+    private Distribution length = Distribution.uniform(1000, 21000);   // MI per PE
+    private ArrivalProcess arrivals = ArrivalProcess.batch();
+    private int[] pes = {1};                    // PE counts a cloudlet may ask for
+    private double[] pesWeights = {1};          // relative frequency of each PE count
+    private List<VmClass> vmClasses = Collections.singletonList(new VmClass("default", 1000, 1, 512, 1000, 10000, 1));
+    private long fileSize = 300;
+    private long outputSize = 300;
+    private long seed = 0;
+
+    /**
+     * Reads the generator from properties, every key being optional:
+     * <pre>
+     *   workload.length     distribution of the length in MI, see {@link Distribution#parse(String)}
+     *   workload.arrivals   arrival process, see {@link ArrivalProcess#parse(String)}
+     *   workload.pes        PE counts and their weights, e.g. 1:0.7,2:0.2,4:0.1
+     *   workload.vmClasses  VM classes, see {@link VmClass#parse(String)}, separated by commas
+     *   workload.seed       seed of the generator
+     * </pre>
+     */
+    public static WorkloadGenerator fromProperties(Properties properties) {
+        WorkloadGenerator generator = new WorkloadGenerator();
+
+        String value = properties.getProperty("workload.length");
+        if (value != null) {
+            generator.setLength(Distribution.parse(value));
+        }
+        value = properties.getProperty("workload.arrivals");
+        if (value != null) {
+            generator.setArrivals(ArrivalProcess.parse(value));
+        }
+        value = properties.getProperty("workload.pes");
+        if (value != null) {
+            String[] entries = value.split(",");
+            int[] counts = new int[entries.length];
+            double[] weights = new double[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                String[] entry = entries[i].trim().split(":");
+                counts[i] = Integer.parseInt(entry[0]);
+                weights[i] = entry.length > 1 ? Double.parseDouble(entry[1]) : 1;
+            }
+            generator.setPes(counts, weights);
+        }
+        value = properties.getProperty("workload.vmClasses");
+        if (value != null) {
+            List<VmClass> classes = new ArrayList<>();
+            for (String vmClass : value.split(",")) {
+                classes.add(VmClass.parse(vmClass));
+            }
+            generator.setVmClasses(classes);
+        }
+        value = properties.getProperty("workload.seed");
+        if (value != null) {
+            generator.setSeed(Long.parseLong(value.trim()));
+        }
+        return generator;
+    }
+
+    /**
+     * Creates the VMs, each class getting its share of them by weight. The
+     * classes are interleaved rather than grouped, so round-robin style
+     * policies see a mixed fleet.
+     */
+    public List<Vm> createVms(int userId, int numberOfVm) {
+        double totalWeight = 0;
+        for (VmClass vmClass : vmClasses) {
+            totalWeight += vmClass.getWeight();
+        }
+
+        List<Vm> list = new ArrayList<>(numberOfVm);
+        double[] created = new double[vmClasses.size()];
+        for (int i = 0; i < numberOfVm; i++) {
+            // the class furthest behind its share gets the next VM
+            int next = 0;
+            double largestDeficit = Double.NEGATIVE_INFINITY;
+            for (int c = 0; c < created.length; c++) {
+                double deficit = (i + 1) * vmClasses.get(c).getWeight() / totalWeight - created[c];
+                if (deficit > largestDeficit) {
+                    largestDeficit = deficit;
+                    next = c;
+                }
+            }
+            created[next]++;
+
+            VmClass vmClass = vmClasses.get(next);
+            list.add(new Vm(i, userId, vmClass.getMips(), vmClass.getPes(), vmClass.getRam(), vmClass.getBw(),
+                    vmClass.getSize(), "Xen", new CloudletSchedulerSpaceShared()));
+        }
+        return list;
+    }
+
+    /**
+     * @return a lazy sequence of cloudlets in order of arrival, generated as they are consumed; cloudlets
+     *         asking for more PEs than the widest VM class has are narrowed to it, keeping their total work
+     */
+    public Iterator<TimedCloudlet> cloudlets(int userId, long numberOfCloudlet) {
+        Random random = new Random(seed);
+        PrimitiveIterator.OfDouble arrivalTimes = arrivals.arrivals(new Random(seed ^ 0x5DEECE66DL));
+        UtilizationModel utilizationModel = new UtilizationModelFull();
+
+        double[] cumulativePesWeights = new double[pesWeights.length];
+        double sum = 0;
+        for (int i = 0; i < pesWeights.length; i++) {
+            sum += pesWeights[i];
+            cumulativePesWeights[i] = sum;
+        }
+        double totalPesWeight = sum;
+
+        int maxPes = 1;
+        for (VmClass vmClass : vmClasses) {
+            maxPes = Math.max(maxPes, vmClass.getPes());
+        }
+        int widestVm = maxPes;
+
+        return new Iterator<TimedCloudlet>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < numberOfCloudlet;
+            }
+
+            @Override
+            public TimedCloudlet next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long cloudletLength = Math.max(1, Math.round(length.sample(random)));
+
+                int pesIndex = Arrays.binarySearch(cumulativePesWeights, random.nextDouble() * totalPesWeight);
+                int pesNumber = pes[Math.min(pesIndex < 0 ? -pesIndex - 1 : pesIndex, pes.length - 1)];
+                if (pesNumber > widestVm) {
+                    // no VM could run it, it is narrowed to the widest VM keeping its total work
+                    cloudletLength = Math.max(1, cloudletLength * pesNumber / widestVm);
+                    pesNumber = widestVm;
+                }
+
+                TimedCloudlet cloudlet = new TimedCloudlet(next++, cloudletLength, pesNumber, fileSize, outputSize,
+                        utilizationModel, utilizationModel, utilizationModel, arrivalTimes.nextDouble());
+                cloudlet.setUserId(userId);
+                return cloudlet;
+            }
+        };
+    }
+
+    /**
+     * @return the whole workload, for brokers that take a static batch
+     */
+    public List<Cloudlet> createCloudlets(int userId, int numberOfCloudlet) {
+        List<Cloudlet> list = new ArrayList<>(numberOfCloudlet);
+        cloudlets(userId, numberOfCloudlet).forEachRemaining(list::add);
+        return list;
+    }
+
+    public Distribution getLength() {
+        return length;
+    }
+
+    public void setLength(Distribution length) {
+        this.length = length;
+    }
+
+    public ArrivalProcess getArrivals() {
+        return arrivals;
+    }
+
+    public void setArrivals(ArrivalProcess arrivals) {
+        this.arrivals = arrivals;
+    }
+
+    public int[] getPes() {
+        return pes.clone();
+    }
+
+    public double[] getPesWeights() {
+        return pesWeights.clone();
+    }
+
+    /**
+     * @param pes      PE counts a cloudlet may ask for
+     * @param weights  relative frequency of each PE count
+     */
+    public void setPes(int[] pes, double[] weights) {
+        if (pes.length == 0 || pes.length != weights.length) {
+            throw new IllegalArgumentException("Every PE count needs a weight");
+        }
+        for (int i = 0; i < pes.length; i++) {
+            if (pes[i] <= 0 || weights[i] < 0) {
+                throw new IllegalArgumentException("PE counts must be positive and weights not negative");
+            }
+        }
+        this.pes = pes.clone();
+        this.pesWeights = weights.clone();
+    }
+
+    public List<VmClass> getVmClasses() {
+        return vmClasses;
+    }
+
+    public void setVmClasses(List<VmClass> vmClasses) {
+        if (vmClasses.isEmpty()) {
+            throw new IllegalArgumentException("At least one VM class is required");
+        }
+        this.vmClasses = new ArrayList<>(vmClasses);
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getOutputSize() {
+        return outputSize;
+    }
+
+    public void setOutputSize(long outputSize) {
+        this.outputSize = outputSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+}